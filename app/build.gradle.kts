@@ -1,5 +1,7 @@
 plugins {
     alias(libs.plugins.android.application)
+    // Generates the Baseline Profile from :macrobenchmark and packages it into release builds
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -13,18 +15,42 @@ android {
         versionCode = 1
         versionName = "1.0"
 
-        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        // AndroidJUnitRunner plus the clock/debuggable checks microbenchmarks need
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+
+        // Backend root used by ApiClient (10.0.2.2 is the host machine from the emulator)
+        buildConfigField("String", "API_BASE", "\"http://10.0.2.2:5000\"")
+    }
+
+    buildFeatures {
+        buildConfig = true
     }
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            // R8 + resource shrinking: less dex to load and verify on cold start
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
             )
         }
+        create("benchmark") {
+            initWith(getByName("release"))
+            // unminified so the benchmarks can call into the data layer directly
+            isMinifyEnabled = false
+            isShrinkResources = false
+            isDebuggable = false
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
     }
+
+    // Microbenchmarks need a non-debuggable build under test:
+    // ./gradlew :app:connectedBenchmarkAndroidTest -PtestBuildType=benchmark
+    testBuildType = providers.gradleProperty("testBuildType").getOrElse("debug")
+
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
@@ -37,6 +63,8 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.lifecycle.viewmodel)
+    implementation(libs.lifecycle.livedata)
 
     // Networking: Volley
     implementation("com.android.volley:volley:1.2.1")
@@ -45,10 +73,23 @@ dependencies {
     implementation("com.github.bumptech.glide:glide:4.12.0")
     annotationProcessor("com.github.bumptech.glide:compiler:4.12.0")
 
+    // Installs the Baseline Profile on devices without Play's cloud profiles (sideloads, benchmarks)
+    implementation(libs.profileinstaller)
+    baselineProfile(project(":macrobenchmark"))
+
+    // JankStats: per-screen slow/frozen frame counts (metrics/FrameStats)
+    implementation(libs.metrics.performance)
+
+    // Background catalog sync
+    implementation("androidx.work:work-runtime:2.9.1")
+
     // Testing
     testImplementation(libs.junit)
+    // Real org.json for JVM tests (android.jar only has stubs)
+    testImplementation("org.json:json:20240303")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.benchmark.junit4)
 
     // RecyclerView for the horizontal offers list & grid of movies
     implementation("androidx.recyclerview:recyclerview:1.2.1")
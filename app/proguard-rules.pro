@@ -12,10 +12,6 @@
 #   public *;
 #}
 
-# Uncomment this to preserve the line number information for
-# debugging stack traces.
-#-keepattributes SourceFile,LineNumberTable
-
-# If you keep the line number information, uncomment this to
-# hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+# Keep line numbers so release crashes stay readable now that R8 is on.
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
\ No newline at end of file
@@ -0,0 +1,18 @@
+#!/bin/sh
+# Re-records the benchmark fixtures from a running backend.
+#   app/record-fixtures.sh [http://localhost:5000]
+set -e
+API=${1:-http://localhost:5000}
+OUT=$(dirname "$0")/src/androidTest/assets/fixtures
+mkdir -p "$OUT"
+# same data in the compact encoding (backend/catalogCodec.js)
+BIN=application/vnd.aflam.catalog
+for chain in vox amc muvi empire; do
+  curl -sf "$API/movies/parent/$chain" -o "$OUT/$chain.json"
+  curl -sf "$API/movies/parent/$chain?view=card" -o "$OUT/$chain-card.json"
+  curl -sf -H "Accept: $BIN" "$API/movies/parent/$chain" -o "$OUT/$chain.acb"
+  curl -sf -H "Accept: $BIN" "$API/movies/parent/$chain?view=card" -o "$OUT/$chain-card.acb"
+done
+curl -sf "$API/offers" -o "$OUT/offers.json"
+curl -sf -H "Accept: $BIN" "$API/offers" -o "$OUT/offers.acb"
+echo "Recorded fixtures into $OUT"
@@ -0,0 +1,96 @@
+// app/src/androidTest/java/com/example/cpit490project/JankBudgetTest.java
+package com.example.cpit490project;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.SystemClock;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.cpit490project.metrics.FrameStats;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+/**
+ * Scrolls the lists end to end and holds the screen to a jank budget, using
+ * the same counts the app records in the field ({@link FrameStats}).
+ *
+ * Needs rows to scroll: the backend reachable from the device (API_BASE) or a
+ * saved snapshot from an earlier run. The test is skipped, not failed, without them.
+ * Run it on a release-like build for numbers that mean anything:
+ *
+ *   ./gradlew :app:connectedBenchmarkAndroidTest -PtestBuildType=benchmark
+ */
+@RunWith(AndroidJUnit4.class)
+public class JankBudgetTest {
+    // Share of frames JankStats calls jank (over twice the refresh interval)
+    private static final double SLOW_BUDGET = 0.05;
+    private static final int MIN_FRAMES = 30;
+    private static final long LOAD_TIMEOUT_MS = 10_000;
+    private static final long SETTLE_MS = 2_000;
+
+    private final Context ctx = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Before
+    public void resetCounts() {
+        FrameStats.reset();
+    }
+
+    @Test
+    public void movieGridScrollsWithinBudget() {
+        Intent i = new Intent(ctx, MovieListActivity.class).putExtra("cinema", "vox");
+        try (ActivityScenario<MovieListActivity> s = ActivityScenario.launch(i)) {
+            scrollEndToEnd(s, R.id.rvMovies);
+        }
+        assertWithinBudget("MovieListActivity", "MovieAdapter");
+    }
+
+    @Test
+    public void offersCarouselScrollsWithinBudget() {
+        try (ActivityScenario<MainActivity> s = ActivityScenario.launch(MainActivity.class)) {
+            scrollEndToEnd(s, R.id.rvOffers);
+        }
+        assertWithinBudget("MainActivity", "OfferAdapter");
+    }
+
+    private static <A extends Activity> void scrollEndToEnd(ActivityScenario<A> s, int listId) {
+        int[] rows = new int[1];
+        long deadline = SystemClock.uptimeMillis() + LOAD_TIMEOUT_MS;
+        while (rows[0] == 0 && SystemClock.uptimeMillis() < deadline) {
+            SystemClock.sleep(200);
+            s.onActivity(a -> rows[0] = list(a, listId).getAdapter().getItemCount());
+        }
+        assumeTrue("No rows to scroll (backend unreachable and nothing saved)", rows[0] > 0);
+
+        s.onActivity(a -> list(a, listId).smoothScrollToPosition(rows[0] - 1));
+        SystemClock.sleep(SETTLE_MS);
+        s.onActivity(a -> list(a, listId).smoothScrollToPosition(0));
+        SystemClock.sleep(SETTLE_MS);
+    }
+
+    private static RecyclerView list(Activity a, int id) {
+        return a.findViewById(id);
+    }
+
+    private static void assertWithinBudget(String screen, String adapter) {
+        FrameStats.Counts c = FrameStats.screen(screen);
+        assumeTrue("Only " + c.frames + " frames recorded", c.frames >= MIN_FRAMES);
+
+        String summary = String.format(Locale.US, "%s: %d/%d slow, %d frozen; %d slow while %s bound",
+                screen, c.slow, c.frames, c.frozen, c.binding(adapter).slow, adapter);
+        assertTrue(summary, c.slowRate() <= SLOW_BUDGET);
+        assertEquals(summary, 0, c.frozen);
+    }
+}
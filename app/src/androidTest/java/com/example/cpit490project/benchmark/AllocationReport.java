@@ -0,0 +1,88 @@
+// app/src/androidTest/java/com/example/cpit490project/benchmark/AllocationReport.java
+package com.example.cpit490project.benchmark;
+
+import android.os.Bundle;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bytes allocated per operation, next to the ns/op and allocation counts that
+ * androidx.benchmark already writes to its own JSON.
+ *
+ * Uses ART's process-wide "art.gc.bytes-allocated" counter, so run it on a quiet
+ * thread right after the timed loop. Results go to {@code <class>-allocations.json}
+ * in the additional test output dir, which Gradle pulls into
+ * app/build/outputs/connected_android_test_additional_output/.
+ */
+final class AllocationReport {
+    private static final String TAG = "AllocationReport";
+    private static final int ITERATIONS = 50;
+
+    interface Op {
+        void run() throws Exception;
+    }
+
+    private final String name;
+    private final Map<String, Long> bytesPerOp = new TreeMap<>();
+
+    AllocationReport(Class<?> benchmark) {
+        this.name = benchmark.getSimpleName();
+    }
+
+    /** Runs {@code op} a fixed number of times and records the average bytes it allocated. */
+    void measure(String test, Op op) throws Exception {
+        op.run();  // warm up class loading and caches
+        long before = allocated();
+        for (int i = 0; i < ITERATIONS; i++) op.run();
+        long bytes = (allocated() - before) / ITERATIONS;
+        synchronized (bytesPerOp) {
+            bytesPerOp.put(test, bytes);
+        }
+        Log.i(TAG, name + "." + test + ": " + bytes + " bytes/op");
+    }
+
+    /** Call from @AfterClass. */
+    void write() throws IOException, JSONException {
+        JSONObject json = new JSONObject();
+        JSONObject tests = new JSONObject();
+        synchronized (bytesPerOp) {
+            for (Map.Entry<String, Long> e : bytesPerOp.entrySet()) tests.put(e.getKey(), e.getValue());
+        }
+        json.put("benchmark", name);
+        json.put("unit", "bytes/op");
+        json.put("device", android.os.Build.MODEL);
+        json.put("sdk", android.os.Build.VERSION.SDK_INT);
+        json.put("results", tests);
+
+        File out = new File(outputDir(), name + "-allocations.json");
+        try (FileOutputStream os = new FileOutputStream(out)) {
+            os.write(json.toString(2).getBytes(StandardCharsets.UTF_8));
+        }
+        Log.i(TAG, "Wrote " + out);
+    }
+
+    private static long allocated() {
+        String v = Debug.getRuntimeStat("art.gc.bytes-allocated");
+        return v == null ? 0 : Long.parseLong(v);
+    }
+
+    private static File outputDir() {
+        Bundle args = InstrumentationRegistry.getArguments();
+        String dir = args.getString("additionalTestOutputDir");
+        if (dir != null) return new File(dir);
+        // run outside Gradle: the test app's own files dir
+        return InstrumentationRegistry.getInstrumentation().getContext().getExternalFilesDir(null);
+    }
+}
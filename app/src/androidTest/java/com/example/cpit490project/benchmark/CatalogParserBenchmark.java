@@ -0,0 +1,114 @@
+// app/src/androidTest/java/com/example/cpit490project/benchmark/CatalogParserBenchmark.java
+package com.example.cpit490project.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.example.cpit490project.data.CatalogBinary;
+import com.example.cpit490project.data.CatalogParser;
+
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoding the recorded catalog responses, per chain, from JSON and from the
+ * compact encoding the backend sends when asked for it.
+ *
+ * ./gradlew :app:connectedBenchmarkAndroidTest -PtestBuildType=benchmark
+ */
+@RunWith(Parameterized.class)
+public class CatalogParserBenchmark {
+    private static final AllocationReport allocations = new AllocationReport(CatalogParserBenchmark.class);
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> chains() {
+        List<Object[]> out = new ArrayList<>();
+        for (String chain : Fixtures.CHAINS) out.add(new Object[]{chain});
+        return out;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String chain;
+
+    public CatalogParserBenchmark(String chain) {
+        this.chain = chain;
+    }
+
+    @AfterClass
+    public static void writeAllocations() throws Exception {
+        allocations.write();
+    }
+
+    @Test
+    public void parseFullMovies() throws Exception {
+        String body = Fixtures.movies(chain);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogParser.parseMovies(body, chain, null);
+        }
+        allocations.measure("parseFullMovies[" + chain + "]",
+                () -> CatalogParser.parseMovies(body, chain, null));
+    }
+
+    @Test
+    public void parseCardMovies() throws Exception {
+        String body = Fixtures.cards(chain);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogParser.parseMovies(body, chain, null);
+        }
+        allocations.measure("parseCardMovies[" + chain + "]",
+                () -> CatalogParser.parseMovies(body, chain, null));
+    }
+
+    @Test
+    public void parseOffers() throws Exception {
+        // not per chain, but cheap enough to repeat for each parameter
+        String body = Fixtures.offers();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogParser.parseOffers(body);
+        }
+        allocations.measure("parseOffers", () -> CatalogParser.parseOffers(body));
+    }
+
+    @Test
+    public void decodeFullMoviesBinary() throws Exception {
+        byte[] body = Fixtures.moviesBinary(chain);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogBinary.decodeMovies(body, chain, null);
+        }
+        allocations.measure("decodeFullMoviesBinary[" + chain + "]",
+                () -> CatalogBinary.decodeMovies(body, chain, null));
+    }
+
+    @Test
+    public void decodeCardMoviesBinary() throws Exception {
+        byte[] body = Fixtures.cardsBinary(chain);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogBinary.decodeMovies(body, chain, null);
+        }
+        allocations.measure("decodeCardMoviesBinary[" + chain + "]",
+                () -> CatalogBinary.decodeMovies(body, chain, null));
+    }
+
+    @Test
+    public void decodeOffersBinary() throws Exception {
+        byte[] body = Fixtures.offersBinary();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            CatalogBinary.decodeOffers(body);
+        }
+        allocations.measure("decodeOffersBinary", () -> CatalogBinary.decodeOffers(body));
+    }
+}
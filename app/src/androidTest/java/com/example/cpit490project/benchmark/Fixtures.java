@@ -0,0 +1,65 @@
+// app/src/androidTest/java/com/example/cpit490project/benchmark/Fixtures.java
+package com.example.cpit490project.benchmark;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded backend responses in src/androidTest/assets/fixtures/, as JSON
+ * and in the compact encoding (.acb).
+ * Re-record them against a running backend with app/record-fixtures.sh.
+ */
+final class Fixtures {
+    static final String[] CHAINS = {"vox", "amc", "muvi", "empire"};
+
+    private Fixtures() {}
+
+    /** Full /movies/parent/{chain} body, with timings. */
+    static String movies(String chain) {
+        return read("fixtures/" + chain + ".json");
+    }
+
+    /** /movies/parent/{chain}?view=card body. */
+    static String cards(String chain) {
+        return read("fixtures/" + chain + "-card.json");
+    }
+
+    static String offers() {
+        return read("fixtures/offers.json");
+    }
+
+    /** {@link #movies} in the compact encoding. */
+    static byte[] moviesBinary(String chain) {
+        return readBytes("fixtures/" + chain + ".acb");
+    }
+
+    static byte[] cardsBinary(String chain) {
+        return readBytes("fixtures/" + chain + "-card.acb");
+    }
+
+    static byte[] offersBinary() {
+        return readBytes("fixtures/offers.acb");
+    }
+
+    private static String read(String path) {
+        return new String(readBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(String path) {
+        // the fixtures ship in the test APK, not the app
+        try (InputStream in = InstrumentationRegistry.getInstrumentation()
+                .getContext().getAssets().open(path)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[16 * 1024];
+            int n;
+            while ((n = in.read(buf)) > 0) out.write(buf, 0, n);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Missing fixture " + path, e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// app/src/androidTest/java/com/example/cpit490project/benchmark/ShowtimeFilterBenchmark.java
+package com.example.cpit490project.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.cpit490project.data.CatalogParser;
+import com.example.cpit490project.data.NextShowingsEngine;
+import com.example.cpit490project.data.ShowtimeIndex;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Showtime;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The city/date/showtime filtering MovieDetailActivity does for one movie,
+ * and the cross-chain "Starting soon" query on the home screen.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ShowtimeFilterBenchmark {
+    private static final AllocationReport allocations = new AllocationReport(ShowtimeFilterBenchmark.class);
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private List<Showtime> timings;       // the movie with the most showtimes
+    private final List<Movie> allMovies = new ArrayList<>();
+    private ShowtimeIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        for (String chain : Fixtures.CHAINS) {
+            List<Movie> movies = CatalogParser.parseMovies(Fixtures.movies(chain), chain, null);
+            allMovies.addAll(movies);
+            for (Movie m : movies) {
+                if (timings == null || m.timings.size() > timings.size()) timings = m.timings;
+            }
+        }
+        index = ShowtimeIndex.build(timings);
+    }
+
+    @AfterClass
+    public static void writeAllocations() throws Exception {
+        allocations.write();
+    }
+
+    @Test
+    public void buildIndex() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            ShowtimeIndex.build(timings);
+        }
+        allocations.measure("buildIndex", () -> ShowtimeIndex.build(timings));
+    }
+
+    /** Every chip the detail screen can show: each city, then each of its dates. */
+    @Test
+    public void walkAllChips() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            walk(index);
+        }
+        allocations.measure("walkAllChips", () -> walk(index));
+    }
+
+    @Test
+    public void nextShowingsUpdate() throws Exception {
+        NextShowingsEngine engine = new NextShowingsEngine();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            engine.updateChain("all", allMovies);
+        }
+        allocations.measure("nextShowingsUpdate", () -> engine.updateChain("all", allMovies));
+    }
+
+    @Test
+    public void nextShowingsQuery() throws Exception {
+        NextShowingsEngine engine = new NextShowingsEngine();
+        engine.updateChain("all", allMovies);
+        String day  = allMovies.get(0).timings.get(0).date;  // the fixtures' first day
+        String city = engine.cities(day).get(0);
+        int from = NextShowingsEngine.cinemaMinute(18, 0);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            engine.next(day, city, from, from + 90, 20);
+        }
+        allocations.measure("nextShowingsQuery", () -> engine.next(day, city, from, from + 90, 20));
+    }
+
+    private static int walk(ShowtimeIndex index) {
+        int rows = 0;
+        for (String city : index.cities()) {
+            for (String date : index.dates(city)) {
+                rows += index.showtimes(city, date).size();
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,24 @@
+// app/src/main/java/com/example/cpit490project/AflamApp.java
+package com.example.cpit490project;
+
+import android.app.Application;
+
+import com.example.cpit490project.metrics.FrameStats;
+import com.example.cpit490project.metrics.MetricsDumpReceiver;
+import com.example.cpit490project.metrics.MetricsOverlay;
+
+public class AflamApp extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Slow/frozen frame counts per screen, kept in files/frame_stats.json
+        FrameStats.register(this);
+
+        // Latency table on screen and an adb dump command, never in release
+        if (BuildConfig.DEBUG) {
+            registerActivityLifecycleCallbacks(new MetricsOverlay());
+            MetricsDumpReceiver.register(this);
+        }
+    }
+}
@@ -2,76 +2,218 @@
 package com.example.cpit490project;
 
 import android.content.Intent;
+import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.text.InputType;
+import android.view.View;
+import android.widget.Button;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import android.widget.Toast;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
+import com.example.cpit490project.adapters.NextShowingAdapter;
 import com.example.cpit490project.adapters.OfferAdapter;
-import com.example.cpit490project.models.Offer;
+import com.example.cpit490project.data.Account;
+import com.example.cpit490project.data.ApiClient;
+import com.example.cpit490project.data.CatalogPrefetcher;
+import com.example.cpit490project.data.CatalogRepository;
+import com.example.cpit490project.data.CatalogSyncWorker;
+import com.example.cpit490project.data.NextShowingsEngine;
+import com.example.cpit490project.data.NextShowingsEngine.Showing;
+import com.example.cpit490project.data.WatchHistoryWorker;
+import com.example.cpit490project.images.ScrollPreloader;
+import com.example.cpit490project.metrics.FirstRows;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 
 public class MainActivity extends AppCompatActivity {
     private RecyclerView rvOffers;
     private OfferAdapter offerAdapter;
-    private List<Offer> offers = new ArrayList<>();
-    private RequestQueue queue;
-    private final String BASE = "http://10.0.2.2:5000";
+    private FirstRows firstRows;
+    private ChipGroup chipGroupNearCities;
+    private TextView tvNoShowings;
+    private NextShowingAdapter nextAdapter;
+    private SharedPreferences prefs;
+    private String nearCity;  // city of the "Starting soon" strip
+    private Button btnAccount;
+
+    private static final int OFFER_PRELOAD = 2;
+    private static final int NEXT_WINDOW_MINUTES = 90;
+    private static final int NEXT_LIMIT = 20;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        firstRows = new FirstRows("MainActivity");
         setContentView(R.layout.activity_main);
 
-        queue = Volley.newRequestQueue(this);
-
         findViewById(R.id.btnVox).setOnClickListener(v -> openMovies("vox"));
         findViewById(R.id.btnAMC).setOnClickListener(v -> openMovies("amc"));
         findViewById(R.id.btnMuvi).setOnClickListener(v -> openMovies("muvi"));
         findViewById(R.id.btnEmpire).setOnClickListener(v -> openMovies("empire"));
+        findViewById(R.id.btnSearch).setOnClickListener(v ->
+                startActivity(new Intent(this, SearchActivity.class)));
+        btnAccount = findViewById(R.id.btnAccount);
+        btnAccount.setOnClickListener(v -> onAccountClicked());
+        showAccount();
 
         rvOffers = findViewById(R.id.rvOffers);
         rvOffers.setLayoutManager(
                 new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false)
         );
-        offerAdapter = new OfferAdapter(this, offers);
+        offerAdapter = new OfferAdapter(this);
         rvOffers.setAdapter(offerAdapter);
+        rvOffers.addOnScrollListener(new ScrollPreloader(OFFER_PRELOAD, offerAdapter::preload));
+
+        prefs               = getSharedPreferences("home", MODE_PRIVATE);
+        nearCity            = prefs.getString("near_city", null);
+        chipGroupNearCities = findViewById(R.id.chipGroupNearCities);
+        tvNoShowings        = findViewById(R.id.tvNoShowings);
+        RecyclerView rvNext = findViewById(R.id.rvNextShowings);
+        rvNext.setLayoutManager(
+                new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false)
+        );
+        nextAdapter = new NextShowingAdapter(this);
+        rvNext.setAdapter(nextAdapter);
+        chipGroupNearCities.setOnCheckedChangeListener((group, checkedId) -> {
+            Chip ch = findViewById(checkedId);
+            if (ch == null) return;
+            nearCity = ch.getText().toString();
+            prefs.edit().putString("near_city", nearCity).apply();
+            showNextShowings();
+        });
 
         fetchOffers();
+        fetchShowings();
+        // Keeps the saved lists fresh between launches, via small deltas
+        CatalogSyncWorker.schedule(this);
+        // Sends watch events an earlier session journaled but never got out
+        WatchHistoryWorker.scheduleFlush(this);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // The clock (and maybe the date) moved on while we were away
+        setupNearCityChips();
+        showNextShowings();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Drop in-flight requests that belong to this screen
+        ApiClient.get(this).cancelAll(this);
     }
 
     private void fetchOffers() {
-        String url = BASE + "/offers";
-        JsonObjectRequest req = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                resp -> {
-                    try {
-                        JSONArray arr = resp.getJSONArray("offers");
-                        for (int i = 0; i < arr.length(); i++) {
-                            JSONObject o = arr.getJSONObject(i);
-                            String img   = o.getString("offer_image");
-                            String title = o.getString("offer title");
-                            String link  = o.getString("offer URL");
-                            offers.add(new Offer(img, title, link));
-                        }
-                        offerAdapter.notifyDataSetChanged();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                },
-                err -> err.printStackTrace()
-        );
-        queue.add(req);
+        // Renders the saved snapshot first, then again only if /offers changed
+        CatalogRepository.get(this).loadOffers(this, (items, fromCache) -> {
+            offerAdapter.submitList(items, items.isEmpty() ? null : firstRows::shown);
+            // Home screen is up: warm the chain catalogs in the background
+            CatalogPrefetcher.start(this);
+        });
+    }
+
+    private void fetchShowings() {
+        CatalogRepository repo = CatalogRepository.get(this);
+        // Four full catalogs for one strip: on a metered network or in battery saver,
+        // make do with what was saved (the background sync keeps it fresh)
+        boolean network = CatalogPrefetcher.allowed(getApplicationContext());
+        for (String chain : CatalogRepository.CHAINS) {
+            repo.loadShowings(chain, network, this, () -> {
+                if (isDestroyed()) return;
+                setupNearCityChips();
+                showNextShowings();
+            });
+        }
+    }
+
+    private void setupNearCityChips() {
+        List<String> cities = CatalogRepository.get(this).nextShowings()
+                .cities(NextShowingsEngine.cinemaDay(Calendar.getInstance()));
+        if (sameChips(chipGroupNearCities, cities)) return;
+        chipGroupNearCities.removeAllViews();
+        for (String city : cities) {
+            Chip c = new Chip(this);
+            c.setText(city);
+            c.setCheckable(true);
+            chipGroupNearCities.addView(c);
+        }
+        if (cities.isEmpty()) return;  // nothing loaded for today yet; keep the saved choice
+        if (nearCity == null || !cities.contains(nearCity)) {
+            nearCity = cities.get(0);
+        }
+        ((Chip) chipGroupNearCities.getChildAt(cities.indexOf(nearCity))).setChecked(true);
+    }
+
+    private static boolean sameChips(ChipGroup group, List<String> values) {
+        if (group.getChildCount() != values.size()) return false;
+        for (int i = 0; i < values.size(); i++) {
+            Chip c = (Chip) group.getChildAt(i);
+            if (!c.getText().toString().equals(values.get(i))) return false;
+        }
+        return true;
+    }
+
+    private void showNextShowings() {
+        if (nearCity == null) return;
+        Calendar now = Calendar.getInstance();
+        int from = NextShowingsEngine.cinemaMinute(
+                now.get(Calendar.HOUR_OF_DAY), now.get(Calendar.MINUTE));
+        List<Showing> next = CatalogRepository.get(this).nextShowings()
+                .next(NextShowingsEngine.cinemaDay(now), nearCity, from, from + NEXT_WINDOW_MINUTES, NEXT_LIMIT);
+        nextAdapter.submitList(next);
+        tvNoShowings.setVisibility(next.isEmpty() ? View.VISIBLE : View.GONE);
+    }
+
+    private void showAccount() {
+        String name = Account.name(this);
+        btnAccount.setText(Account.userId(this) == null
+                ? "Sign in to keep your watch history"
+                : "Signed in as " + name + " · Sign out");
+    }
+
+    private void onAccountClicked() {
+        if (Account.userId(this) != null) {
+            Account.signOut(this);
+            showAccount();
+            return;
+        }
+        EditText email = new EditText(this);
+        email.setHint("Email");
+        email.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_EMAIL_ADDRESS);
+        EditText password = new EditText(this);
+        password.setHint("Password");
+        password.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD);
+        LinearLayout form = new LinearLayout(this);
+        form.setOrientation(LinearLayout.VERTICAL);
+        int pad = (int) (16 * getResources().getDisplayMetrics().density);
+        form.setPadding(pad, pad / 2, pad, 0);
+        form.addView(email);
+        form.addView(password);
+
+        new AlertDialog.Builder(this)
+                .setTitle("Sign in")
+                .setView(form)
+                .setPositiveButton("Sign in", (d, w) -> Account.signIn(this,
+                        email.getText().toString().trim(), password.getText().toString(), this,
+                        error -> {
+                            if (isDestroyed()) return;
+                            if (error != null) Toast.makeText(this, error, Toast.LENGTH_SHORT).show();
+                            showAccount();
+                        }))
+                .setNegativeButton("Cancel", null)
+                .show();
     }
 
     private void openMovies(String cinema) {
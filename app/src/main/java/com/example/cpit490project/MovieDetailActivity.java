@@ -4,67 +4,97 @@ package com.example.cpit490project;
 import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
+import android.view.View;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.cpit490project.adapters.Prewarm;
 import com.example.cpit490project.adapters.ShowtimeAdapter;
+import com.example.cpit490project.data.ApiClient;
+import com.example.cpit490project.data.CatalogRepository;
+import com.example.cpit490project.data.ChainCompare;
+import com.example.cpit490project.data.ShowtimeIndex;
+import com.example.cpit490project.data.WatchJournal;
+import com.example.cpit490project.metrics.FirstRows;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.models.Movie;
 import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.util.AppExecutors;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 public class MovieDetailActivity extends AppCompatActivity {
     private ChipGroup chipGroupCities, chipGroupDates;
+    private Chip chipCompare;
+    private TextView tvCompareStatus;
     private RecyclerView rvShowtimes;
-    private JSONArray timingsJson;
-    private List<Showtime> allShows = new ArrayList<>();
+    private ShowtimeIndex index;
     private ShowtimeAdapter showAdapter;
+    private FirstRows firstRows;
+
+    private static final Histogram INDEX     = Metrics.histogram("MovieDetailActivity", "index");
+    private static final Histogram CITY_CHIP = Metrics.histogram("MovieDetailActivity", "city_chip");
+    private static final Histogram DATE_CHIP = Metrics.histogram("MovieDetailActivity", "date_chip");
+
+    // Compare mode shows whatever the chains sent by then
+    private static final long COMPARE_DEADLINE_MS = 4000;
+    private static final int  PREWARM             = 6;  // showtime cards on one screen
 
     private String rawShowtimesUrl;  // full or partial URL from JSON
     private String parentChain;      // "amc", "muvi", "vox", or "empire"
+    private CatalogRepository.Subscription chainLoad;  // only after process death
+    private boolean recreated;  // rotation etc.: the open was already journaled
+
+    private Movie movie;
+    private ChainCompare compare;  // while chains are still answering
+    private boolean comparing;
+    private int indexed;           // bumped per indexTimings call; older results are dropped
+    private String selectedCity, selectedDate;  // kept while compare results come in
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        firstRows = new FirstRows("MovieDetailActivity");
+        recreated = savedInstanceState != null;
 
         try {
             setContentView(R.layout.activity_movie_detail);
 
-            // Read extras
-            rawShowtimesUrl = getIntent().getStringExtra("movie_showtimes_url");
+            // Read extras: only the key crosses the Intent, the movie itself lives in CatalogRepository
+            String movieKey = getIntent().getStringExtra("movie_key");
             parentChain     = getIntent().getStringExtra("movie_parent");
+            if (movieKey == null || parentChain == null) {
+                throw new IllegalStateException("Missing movie key");
+            }
 
             // Bind views
             chipGroupCities = findViewById(R.id.chipGroupCities);
             chipGroupDates  = findViewById(R.id.chipGroupDates);
             rvShowtimes     = findViewById(R.id.rvShowtimes);
-
-            // Recycler setup
+            chipCompare     = findViewById(R.id.chipCompare);
+            tvCompareStatus = findViewById(R.id.tvCompareStatus);
+            chipCompare.setEnabled(false);  // until the movie is known
             rvShowtimes.setLayoutManager(new LinearLayoutManager(this));
-            showAdapter = new ShowtimeAdapter(
-                    this,
-                    allShows,
-                    parentChain,
-                    rawShowtimesUrl
-            );
-            rvShowtimes.setAdapter(showAdapter);
-
-            // Parse timings JSON
-            String raw = getIntent().getStringExtra("movie_timings");
-            timingsJson = new JSONArray(raw);
 
-            // Build the UI
-            setupCityChips();
+            CatalogRepository repo = CatalogRepository.get(this);
+            Movie movie = repo.findMovie(movieKey);
+            if (movie != null) {
+                showMovie(movie);
+            } else {
+                // Process was recreated: reload the chain (disk snapshot first) and look again
+                chainLoad = repo.loadMovies(parentChain, (items, fromCache) -> {
+                    Movie found = repo.findMovie(movieKey);
+                    if (found != null && showAdapter == null) showMovie(found);
+                });
+            }
 
         } catch (Exception e) {
             Log.e("MovieDetailActivity", "Error in onCreate", e);
@@ -77,16 +107,102 @@ public class MovieDetailActivity extends AppCompatActivity {
         }
     }
 
-    private void setupCityChips() {
-        Set<String> cities = new LinkedHashSet<>();
-        for (int i = 0; i < timingsJson.length(); i++) {
-            JSONObject dateBlock = timingsJson.optJSONObject(i);
-            JSONArray shows = dateBlock.optJSONArray("Showtimes");
-            for (int j = 0; j < shows.length(); j++) {
-                JSONObject s = shows.optJSONObject(j);
-                cities.add(s.optString("City"));
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        ApiClient.get(this).cancelAll(this);
+        if (chainLoad != null) chainLoad.cancel();
+        if (compare != null) compare.cancel();
+    }
+
+    private void showMovie(Movie movie) {
+        this.movie      = movie;
+        rawShowtimesUrl = movie.showtimesUrl;
+        if (!recreated) WatchJournal.get(this).record(WatchJournal.DETAIL_OPEN, movie);
+
+        // Recycler setup
+        showAdapter = new ShowtimeAdapter(
+                this,
+                movie,
+                parentChain,
+                rawShowtimesUrl
+        );
+        rvShowtimes.setAdapter(showAdapter);
+        // First screen of cards, inflated off the main thread while the timings load
+        Prewarm.start("MovieDetailActivity", rvShowtimes, showAdapter, PREWARM);
+
+        if (movie.timings != null) {
+            indexTimings(movie.timings);
+        } else {
+            // The list only had the card fields; fetch this movie's timings now
+            CatalogRepository.get(this).loadTimings(movie, this, (items, fromCache) -> {
+                if (!comparing) indexTimings(items);
+            });
+        }
+
+        chipCompare.setEnabled(true);
+        chipCompare.setOnCheckedChangeListener((b, on) -> {
+            if (on) startCompare();
+            else stopCompare();
+        });
+        if (chipCompare.isChecked()) startCompare();  // restored after the movie was reloaded
+    }
+
+    private void startCompare() {
+        comparing = true;
+        tvCompareStatus.setVisibility(View.VISIBLE);
+        compare = ChainCompare.start(this, movie, parentChain, COMPARE_DEADLINE_MS,
+                (rows, status, done) -> {
+                    tvCompareStatus.setText(describe(status));
+                    if (done) compare = null;
+                    // keep this chain's rows on screen until another chain has some
+                    if (!rows.isEmpty() || done) indexTimings(rows);
+                });
+    }
+
+    private void stopCompare() {
+        comparing = false;
+        if (compare != null) compare.cancel();
+        compare = null;
+        tvCompareStatus.setVisibility(View.GONE);
+        if (movie.timings != null) indexTimings(movie.timings);
+    }
+
+    private static String describe(Map<String, ChainCompare.Status> status) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, ChainCompare.Status> e : status.entrySet()) {
+            if (sb.length() > 0) sb.append("  ·  ");
+            sb.append(ChainCompare.label(e.getKey())).append(' ');
+            switch (e.getValue()) {
+                case LOADING:     sb.append('…'); break;
+                case SAVED:       sb.append("(saved)"); break;
+                case DONE:        sb.append('✓'); break;
+                case NOT_PLAYING: sb.append("not showing"); break;
+                case NO_ANSWER:   sb.append("no answer"); break;
             }
         }
+        return sb.toString();
+    }
+
+    // Index city -> date -> showtimes off the UI thread, then build the UI
+    private void indexTimings(List<Showtime> timings) {
+        int gen = ++indexed;
+        AppExecutors.background().execute(() -> {
+            long t = Metrics.begin("MovieDetailActivity.index");
+            ShowtimeIndex built = ShowtimeIndex.build(timings);
+            Metrics.end(INDEX, t);
+            AppExecutors.main(() -> {
+                if (isDestroyed() || gen != indexed) return;
+                index = built;
+                setupCityChips();
+            });
+        });
+    }
+
+    private void setupCityChips() {
+        chipGroupCities.setOnCheckedChangeListener(null);
+        chipGroupCities.removeAllViews();
+        List<String> cities = index.cities();
         for (String city : cities) {
             Chip c = new Chip(this);
             c.setText(city);
@@ -94,35 +210,32 @@ public class MovieDetailActivity extends AppCompatActivity {
             chipGroupCities.addView(c);
         }
 
-        // pick first by default
-        if (chipGroupCities.getChildCount() > 0) {
-            Chip first = (Chip) chipGroupCities.getChildAt(0);
-            first.setChecked(true);
-            updateDateChips(first.getText().toString());
+        // keep the city picked before a refresh, else the first
+        if (!cities.isEmpty()) {
+            int at = Math.max(0, cities.indexOf(selectedCity));
+            ((Chip) chipGroupCities.getChildAt(at)).setChecked(true);
+            updateDateChips(cities.get(at));
+        } else {
+            chipGroupDates.removeAllViews();
+            showAdapter.submitList(null);
         }
 
         chipGroupCities.setOnCheckedChangeListener((group, checkedId) -> {
             Chip ch = findViewById(checkedId);
             if (ch != null) {
+                long t = Metrics.begin("MovieDetailActivity.cityChip");
                 updateDateChips(ch.getText().toString());
+                Metrics.end(CITY_CHIP, t);
             }
         });
     }
 
     private void updateDateChips(String city) {
+        selectedCity = city;
+        chipGroupDates.setOnCheckedChangeListener(null);
         chipGroupDates.removeAllViews();
 
-        Set<String> dates = new LinkedHashSet<>();
-        for (int i = 0; i < timingsJson.length(); i++) {
-            JSONObject dateBlock = timingsJson.optJSONObject(i);
-            JSONArray shows = dateBlock.optJSONArray("Showtimes");
-            for (int j = 0; j < shows.length(); j++) {
-                if (shows.optJSONObject(j).optString("City").equals(city)) {
-                    dates.add(dateBlock.optString("Date"));
-                    break;
-                }
-            }
-        }
+        List<String> dates = index.dates(city);
         for (String date : dates) {
             Chip c = new Chip(this);
             c.setText(date);
@@ -130,50 +243,25 @@ public class MovieDetailActivity extends AppCompatActivity {
             chipGroupDates.addView(c);
         }
 
-        if (chipGroupDates.getChildCount() > 0) {
-            Chip firstDate = (Chip) chipGroupDates.getChildAt(0);
-            firstDate.setChecked(true);
-            loadShowtimes(city, firstDate.getText().toString());
+        if (!dates.isEmpty()) {
+            int at = Math.max(0, dates.indexOf(selectedDate));
+            ((Chip) chipGroupDates.getChildAt(at)).setChecked(true);
+            loadShowtimes(city, dates.get(at));
         }
 
         chipGroupDates.setOnCheckedChangeListener((group, checkedId) -> {
             Chip ch = findViewById(checkedId);
             if (ch != null) {
+                long t = Metrics.begin("MovieDetailActivity.dateChip");
                 loadShowtimes(city, ch.getText().toString());
+                Metrics.end(DATE_CHIP, t);
             }
         });
     }
 
     private void loadShowtimes(String city, String date) {
-        allShows.clear();
-        try {
-            for (int i = 0; i < timingsJson.length(); i++) {
-                JSONObject dateBlock = timingsJson.optJSONObject(i);
-                if (!dateBlock.optString("Date").equals(date)) continue;
-
-                JSONArray shows = dateBlock.optJSONArray("Showtimes");
-                for (int j = 0; j < shows.length(); j++) {
-                    JSONObject s = shows.optJSONObject(j);
-                    if (!s.optString("City").equals(city)) continue;
-
-                    String place = s.optString("Place");
-                    JSONArray exps = s.optJSONArray("Experiences");
-                    for (int k = 0; k < exps.length(); k++) {
-                        JSONObject e = exps.optJSONObject(k);
-                        String expName = e.optString("Experience");
-                        JSONArray timesArr = e.optJSONArray("Times");
-
-                        List<String> times = new ArrayList<>();
-                        for (int t = 0; t < timesArr.length(); t++) {
-                            times.add(timesArr.optString(t));
-                        }
-                        allShows.add(new Showtime(place, expName, times));
-                    }
-                }
-            }
-        } catch (Exception ex) {
-            Log.e("MovieDetailActivity", "Error parsing showtimes", ex);
-        }
-        showAdapter.notifyDataSetChanged();
+        selectedDate = date;
+        List<Showtime> shows = index.showtimes(city, date);
+        showAdapter.submitList(shows, shows.isEmpty() ? null : firstRows::shown);
     }
 }
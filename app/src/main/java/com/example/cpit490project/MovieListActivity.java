@@ -3,72 +3,56 @@ package com.example.cpit490project;
 
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 import com.example.cpit490project.adapters.MovieAdapter;
-import com.example.cpit490project.models.Movie;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.example.cpit490project.adapters.Prewarm;
+import com.example.cpit490project.images.ScrollPreloader;
+import com.example.cpit490project.metrics.FirstRows;
+import com.example.cpit490project.viewmodels.MovieListViewModel;
 
 public class MovieListActivity extends AppCompatActivity {
     private RecyclerView rvMovies;
     private MovieAdapter adapter;
-    private List<Movie> movies = new ArrayList<>();
-    private RequestQueue queue;
-    private final String BASE = "http://10.0.2.2:5000";
+    private FirstRows firstRows;
+
+    private static final int SPAN           = 2;
+    private static final int POSTER_PRELOAD = 6;  // three rows of the 2-column grid
+    private static final int PREWARM        = 8;  // a screen of ~236dp rows, plus the next one
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        firstRows = new FirstRows("MovieListActivity");
         setContentView(R.layout.activity_movie_list);
 
-        queue = Volley.newRequestQueue(this);
         String cinema = getIntent().getStringExtra("cinema");
 
         rvMovies = findViewById(R.id.rvMovies);
-        rvMovies.setLayoutManager(new GridLayoutManager(this, 2));
+        rvMovies.setLayoutManager(new GridLayoutManager(this, SPAN));
+        rvMovies.setHasFixedSize(true);
+        // The grid already prefetches the next row between frames; keep two rows bound
+        // after they scroll off, so a short fling back rebinds nothing
+        rvMovies.setItemViewCacheSize(2 * SPAN);
 
         // Pass the cinema chain into the adapter so it can forward it to the detail screen
-        adapter = new MovieAdapter(this, movies, cinema);
+        adapter = new MovieAdapter(this, cinema);
         rvMovies.setAdapter(adapter);
+        // First screen of cards, inflated off the main thread while the list loads
+        Prewarm.start("MovieListActivity", rvMovies, adapter, PREWARM);
+        // Decode the next few rows of posters before they scroll in
+        rvMovies.addOnScrollListener(new ScrollPreloader(POSTER_PRELOAD, adapter::preload));
 
         fetchMovies(cinema);
     }
 
     private void fetchMovies(String cinema) {
-        String url = BASE + "/movies/parent/" + cinema;
-        JsonObjectRequest req = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                resp -> {
-                    try {
-                        JSONArray arr = resp.getJSONArray("movies");
-                        for (int i = 0; i < arr.length(); i++) {
-                            JSONObject o = arr.getJSONObject(i);
-                            String title        = o.getString("Title");
-                            String img          = o.getString("Image URL");
-                            String lang         = o.getString("Language");
-                            String showtimesUrl = o.getString("Showtimes URL"); // NEW
-                            JSONArray tims      = o.getJSONArray("Timings");
-                            movies.add(new Movie(
-                                    title, img, lang, showtimesUrl, tims
-                            ));
-                        }
-                        adapter.notifyDataSetChanged();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                },
-                err -> err.printStackTrace()
-        );
-        queue.add(req);
+        // The ViewModel keeps the saved-then-network list across rotations; the
+        // ListAdapter diff rebinds only the rows that changed
+        MovieListViewModel vm = new ViewModelProvider(this).get(MovieListViewModel.class);
+        vm.movies(cinema).observe(this, items -> adapter.submitList(items,
+                items.isEmpty() ? null : firstRows::shown));
     }
 }
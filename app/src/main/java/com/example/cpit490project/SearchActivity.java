@@ -0,0 +1,137 @@
+// app/src/main/java/com/example/cpit490project/SearchActivity.java
+package com.example.cpit490project;
+
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.EditText;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cpit490project.adapters.MovieAdapter;
+import com.example.cpit490project.adapters.Prewarm;
+import com.example.cpit490project.data.CatalogRepository;
+import com.example.cpit490project.images.ScrollPreloader;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.search.SearchIndex;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search across every chain. Each keystroke queries the in-memory
+ * {@link SearchIndex}, so results update without a network round trip;
+ * the chain catalogs are (re)loaded in the background while the screen is open.
+ */
+public class SearchActivity extends AppCompatActivity {
+    private static final int MAX_RESULTS    = 100;
+    private static final int SPAN           = 2;
+    private static final int POSTER_PRELOAD = 6;
+    private static final int PREWARM        = 8;  // a screen of the results grid
+
+    private EditText etQuery;
+    private TextView tvResultCount;
+    private ChipGroup chipGroupLanguages, chipGroupCities;
+    private MovieAdapter adapter;
+    private SearchIndex index;
+
+    @Nullable private String language, city;
+    private final List<CatalogRepository.Subscription> loads = new ArrayList<>();
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+
+        etQuery            = findViewById(R.id.etQuery);
+        tvResultCount      = findViewById(R.id.tvResultCount);
+        chipGroupLanguages = findViewById(R.id.chipGroupLanguages);
+        chipGroupCities    = findViewById(R.id.chipGroupSearchCities);
+
+        RecyclerView rvResults = findViewById(R.id.rvResults);
+        rvResults.setLayoutManager(new GridLayoutManager(this, SPAN));
+        rvResults.setItemViewCacheSize(2 * SPAN);
+        adapter = new MovieAdapter(this, null);
+        rvResults.setAdapter(adapter);
+        Prewarm.start("SearchActivity", rvResults, adapter, PREWARM);
+        rvResults.addOnScrollListener(new ScrollPreloader(POSTER_PRELOAD, adapter::preload));
+
+        CatalogRepository repo = CatalogRepository.get(this);
+        index = repo.searchIndex();
+
+        etQuery.addTextChangedListener(new TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int a, int b, int c) {}
+            @Override public void onTextChanged(CharSequence s, int a, int b, int c) {}
+            @Override public void afterTextChanged(Editable s) { runQuery(); }
+        });
+
+        chipGroupLanguages.setOnCheckedChangeListener((group, checkedId) -> {
+            Chip ch = findViewById(checkedId);
+            language = ch != null ? ch.getText().toString() : null;
+            runQuery();
+        });
+        chipGroupCities.setOnCheckedChangeListener((group, checkedId) -> {
+            Chip ch = findViewById(checkedId);
+            city = ch != null ? ch.getText().toString() : null;
+            runQuery();
+        });
+
+        // Whatever is already indexed is searchable right away
+        refreshFacets();
+        runQuery();
+
+        // The index is updated before each callback, so just search again
+        for (String chain : CatalogRepository.CHAINS) {
+            loads.add(repo.loadMovies(chain, (items, fromCache) -> {
+                refreshFacets();
+                runQuery();
+            }));
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Leave the chain loads; any nobody else is waiting for get cancelled
+        for (CatalogRepository.Subscription s : loads) s.cancel();
+    }
+
+    private void runQuery() {
+        List<Movie> results = index.search(etQuery.getText().toString(), language, city, MAX_RESULTS);
+        adapter.submitList(results);
+        tvResultCount.setText(results.size() + " of " + index.size() + " movies");
+    }
+
+    // Rebuilds the facet chips only when their values changed, keeping the selection
+    private void refreshFacets() {
+        fillChips(chipGroupLanguages, index.languages(), language);
+        fillChips(chipGroupCities, index.cities(), city);
+    }
+
+    private void fillChips(ChipGroup group, List<String> values, @Nullable String selected) {
+        if (sameChips(group, values)) return;
+        group.removeAllViews();
+        for (String v : values) {
+            Chip c = new Chip(this);
+            c.setText(v);
+            c.setCheckable(true);
+            group.addView(c);
+            if (v.equals(selected)) c.setChecked(true);
+        }
+    }
+
+    private static boolean sameChips(ChipGroup group, List<String> values) {
+        if (group.getChildCount() != values.size()) return false;
+        for (int i = 0; i < values.size(); i++) {
+            Chip c = (Chip) group.getChildAt(i);
+            if (!c.getText().toString().equals(values.get(i))) return false;
+        }
+        return true;
+    }
+}
@@ -3,59 +3,112 @@ package com.example.cpit490project.adapters;
 
 import android.content.Context;
 import android.content.Intent;
-import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.Glide;
 import com.example.cpit490project.MovieDetailActivity;
 import com.example.cpit490project.R;
+import com.example.cpit490project.data.CatalogRepository;
+import com.example.cpit490project.images.ImageLoader;
+import com.example.cpit490project.metrics.FrameStats;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
 import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.util.StableIds;
 
-import java.util.List;
-
-public class MovieAdapter extends RecyclerView.Adapter<MovieAdapter.VH> {
-    private final List<Movie> list;
+/** Movie grid. Feed it with {@link #submitList}; diffs are computed off the main thread. */
+public class MovieAdapter extends ListAdapter<Movie, MovieAdapter.VH> {
     private final Context ctx;
     private final String parentChain;     // NEW
 
-    public MovieAdapter(Context ctx, List<Movie> list, String parentChain) {
+    private static final Histogram BIND = Metrics.histogram("MovieAdapter", "bind");
+    private final FrameStats.Binding frames = new FrameStats.Binding("MovieAdapter");
+
+    private static final DiffUtil.ItemCallback<Movie> DIFF = new DiffUtil.ItemCallback<Movie>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Movie a, @NonNull Movie b) {
+            return a.key().equals(b.key());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Movie a, @NonNull Movie b) {
+            // only what the card shows; the key is the movie id, so the title can change too
+            return a.title.equals(b.title) && a.imageUrl.equals(b.imageUrl)
+                    && a.language.equals(b.language);
+        }
+    };
+
+    public MovieAdapter(Context ctx, String parentChain) {
+        super(DIFF);
         this.ctx         = ctx;
-        this.list        = list;
         this.parentChain = parentChain;   // e.g. "amc", "muvi", "vox", "empire"
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View v = LayoutInflater.from(ctx)
+        // also runs on a background thread when the list is prewarmed
+        View v = Prewarm.inflater(ctx)
                 .inflate(R.layout.item_movie, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        // A touch usually turns into a tap: start fetching the detail timings right away
+        v.setOnTouchListener((view, e) -> {
+            int pos = h.getBindingAdapterPosition();
+            if (e.getActionMasked() == MotionEvent.ACTION_DOWN && pos != RecyclerView.NO_POSITION) {
+                CatalogRepository.get(ctx).prefetchTimings(getItem(pos));
+            }
+            return false;
+        });
+        return h;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView rv) {
+        frames.attach(rv);
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int i) {
-        Movie m = list.get(i);
+        long t = Metrics.begin("MovieAdapter.bind");
+        frames.mark();
+        try {
+            bind(h, i);
+        } finally {
+            Metrics.end(BIND, t);
+        }
+    }
+
+    private void bind(VH h, int i) {
+        Movie m = getItem(i);
         h.tvTitle.setText(m.title);
         h.tvLang.setText(m.language);
-        Glide.with(ctx).load(m.imageUrl).into(h.imgPoster);
+        ImageLoader.loadPoster(h.imgPoster, m.imageUrl);
 
-        // OPEN DETAIL, passing both the raw showtimes URL and the chain
+        // OPEN DETAIL, passing only the movie key; the detail screen reads the rest from CatalogRepository
         h.itemView.setOnClickListener(v -> {
             Intent intent = new Intent(ctx, MovieDetailActivity.class);
-            intent.putExtra("movie_title",       m.title);
-            intent.putExtra("movie_timings",     m.timings.toString());
-            intent.putExtra("movie_showtimes_url", m.showtimesUrl);
-            intent.putExtra("movie_parent",      parentChain);
+            intent.putExtra("movie_key",    m.key());
+            intent.putExtra("movie_title",  m.title);
+            // search results mix chains, so prefer the movie's own
+            intent.putExtra("movie_parent", m.chain != null ? m.chain : parentChain);
             ctx.startActivity(intent);
         });
     }
 
-    @Override public int getItemCount() { return list.size(); }
+    @Override public long getItemId(int i) { return StableIds.of(getItem(i).key()); }
+
+    /** Warms the poster cache for a row that is about to scroll into view. */
+    public void preload(int i) {
+        ImageLoader.preloadPoster(ctx, getItem(i).imageUrl);
+    }
 
     static class VH extends RecyclerView.ViewHolder {
         ImageView imgPoster;
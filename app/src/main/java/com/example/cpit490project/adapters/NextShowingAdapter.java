@@ -0,0 +1,103 @@
+// app/src/main/java/com/example/cpit490project/adapters/NextShowingAdapter.java
+package com.example.cpit490project.adapters;
+
+import android.content.Context;
+import android.content.Intent;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cpit490project.MovieDetailActivity;
+import com.example.cpit490project.R;
+import com.example.cpit490project.data.NextShowingsEngine.Showing;
+import com.example.cpit490project.metrics.FrameStats;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.util.StableIds;
+
+/** "Starting soon" strip on the home screen. Feed it with {@link #submitList}. */
+public class NextShowingAdapter extends ListAdapter<Showing, NextShowingAdapter.VH> {
+    private final Context ctx;
+
+    private static final Histogram BIND = Metrics.histogram("NextShowingAdapter", "bind");
+    private final FrameStats.Binding frames = new FrameStats.Binding("NextShowingAdapter");
+
+    private static final DiffUtil.ItemCallback<Showing> DIFF = new DiffUtil.ItemCallback<Showing>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Showing a, @NonNull Showing b) {
+            return a.key().equals(b.key());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Showing a, @NonNull Showing b) {
+            // the key covers the time and place; the title is all the card adds
+            return a.movie.title.equals(b.movie.title);
+        }
+    };
+
+    public NextShowingAdapter(Context ctx) {
+        super(DIFF);
+        this.ctx = ctx;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View v = LayoutInflater.from(ctx)
+                .inflate(R.layout.item_showing, parent, false);
+        return new VH(v);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView rv) {
+        frames.attach(rv);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull VH h, int i) {
+        long t = Metrics.begin("NextShowingAdapter.bind");
+        frames.mark();
+        try {
+            bind(h, i);
+        } finally {
+            Metrics.end(BIND, t);
+        }
+    }
+
+    private void bind(VH h, int i) {
+        Showing s = getItem(i);
+        h.tvTime.setText(s.time());
+        h.tvTitle.setText(s.movie.title);
+        h.tvPlace.setText(s.place + " · " + s.experience);
+
+        h.itemView.setOnClickListener(v -> {
+            Intent intent = new Intent(ctx, MovieDetailActivity.class);
+            intent.putExtra("movie_key",    s.movie.key());
+            intent.putExtra("movie_title",  s.movie.title);
+            intent.putExtra("movie_parent", s.movie.chain);
+            ctx.startActivity(intent);
+        });
+    }
+
+    @Override
+    public long getItemId(int i) {
+        return StableIds.of(getItem(i).key());
+    }
+
+    static class VH extends RecyclerView.ViewHolder {
+        TextView tvTime, tvTitle, tvPlace;
+        VH(View v) {
+            super(v);
+            tvTime  = v.findViewById(R.id.tvShowingTime);
+            tvTitle = v.findViewById(R.id.tvShowingTitle);
+            tvPlace = v.findViewById(R.id.tvShowingPlace);
+        }
+    }
+}
@@ -10,21 +10,41 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.cpit490project.R;
+import com.example.cpit490project.images.ImageLoader;
+import com.example.cpit490project.metrics.FrameStats;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
 import com.example.cpit490project.models.Offer;
+import com.example.cpit490project.util.StableIds;
 
-import java.util.List;
-
-public class OfferAdapter extends RecyclerView.Adapter<OfferAdapter.VH> {
-    private final List<Offer> list;
+/** Offers carousel. Feed it with {@link #submitList}; diffs are computed off the main thread. */
+public class OfferAdapter extends ListAdapter<Offer, OfferAdapter.VH> {
     private final Context ctx;
 
-    public OfferAdapter(Context ctx, List<Offer> list) {
+    private static final Histogram BIND = Metrics.histogram("OfferAdapter", "bind");
+    private final FrameStats.Binding frames = new FrameStats.Binding("OfferAdapter");
+
+    private static final DiffUtil.ItemCallback<Offer> DIFF = new DiffUtil.ItemCallback<Offer>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Offer a, @NonNull Offer b) {
+            return a.key().equals(b.key());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Offer a, @NonNull Offer b) {
+            return a.imageUrl.equals(b.imageUrl);
+        }
+    };
+
+    public OfferAdapter(Context ctx) {
+        super(DIFF);
         this.ctx = ctx;
-        this.list = list;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -35,13 +55,26 @@ public class OfferAdapter extends RecyclerView.Adapter<OfferAdapter.VH> {
         return new VH(v);
     }
 
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView rv) {
+        frames.attach(rv);
+    }
+
     @Override
     public void onBindViewHolder(@NonNull VH h, int i) {
-        Offer o = list.get(i);
-        // Load image
-        Glide.with(ctx)
-                .load(o.imageUrl)
-                .into(h.img);
+        long t = Metrics.begin("OfferAdapter.bind");
+        frames.mark();
+        try {
+            bind(h, i);
+        } finally {
+            Metrics.end(BIND, t);
+        }
+    }
+
+    private void bind(VH h, int i) {
+        Offer o = getItem(i);
+        // Load image, downsampled to the card size
+        ImageLoader.loadOffer(h.img, o.imageUrl);
 
         // Open offer URL on click
         h.itemView.setOnClickListener(v -> {
@@ -51,8 +84,13 @@ public class OfferAdapter extends RecyclerView.Adapter<OfferAdapter.VH> {
     }
 
     @Override
-    public int getItemCount() {
-        return list.size();
+    public long getItemId(int i) {
+        return StableIds.of(getItem(i).key());
+    }
+
+    /** Warms the banner cache for a card that is about to scroll into view. */
+    public void preload(int i) {
+        ImageLoader.preloadOffer(ctx, getItem(i).imageUrl);
     }
 
     static class VH extends RecyclerView.ViewHolder {
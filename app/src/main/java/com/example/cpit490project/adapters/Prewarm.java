@@ -0,0 +1,147 @@
+// app/src/main/java/com/example/cpit490project/adapters/Prewarm.java
+package com.example.cpit490project.adapters;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatDelegate;
+import androidx.core.view.LayoutInflaterCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates a screen's worth of ViewHolders on a background thread and puts them in
+ * the list's RecycledViewPool, so the first rows bind into ready views instead of
+ * inflating on the main thread. Start it once the adapter and layout manager are
+ * set, while the data request is in flight ("<screen> prewarm" times the work).
+ *
+ * The pool stays per activity: the holders keep the activity's context.
+ */
+public final class Prewarm {
+    private static final String TAG       = "Prewarm";
+    private static final int    VIEW_TYPE = 0;  // the adapters here have a single, default view type
+
+    // The inflater of the start() running on this thread, shared by all its holders
+    private static final ThreadLocal<LayoutInflater> CURRENT = new ThreadLocal<>();
+
+    private Prewarm() {}
+
+    /** Creates {@code count} holders of {@code adapter} for {@code rv}, which needs its layout manager set. */
+    public static void start(String screen, RecyclerView rv, RecyclerView.Adapter<?> adapter, int count) {
+        Histogram histogram = Metrics.histogram(screen, "prewarm");
+        RecyclerView.RecycledViewPool pool = rv.getRecycledViewPool();
+        pool.setMaxRecycledViews(VIEW_TYPE, Math.max(count, 5));
+
+        Context ctx = rv.getContext();
+        AppExecutors.background().execute(() -> {
+            long t = Metrics.now();
+            List<RecyclerView.ViewHolder> holders = new ArrayList<>(count);
+            CURRENT.set(backgroundInflater(ctx));
+            try {
+                for (int i = 0; i < count; i++) {
+                    holders.add(adapter.createViewHolder(rv, VIEW_TYPE));
+                }
+            } catch (RuntimeException e) {
+                // a view that insists on the main thread: the list inflates the rest as usual
+                Log.w(TAG, screen + ": prewarm stopped after " + holders.size(), e);
+            } finally {
+                CURRENT.remove();
+            }
+            Metrics.record(histogram, t);
+            AppExecutors.main(() -> {
+                for (RecyclerView.ViewHolder h : holders) pool.putRecycledView(h);
+            });
+        });
+    }
+
+    /**
+     * The inflater for onCreateViewHolder: the context's own on the main thread, the
+     * running {@link #start}'s elsewhere. LayoutInflater and the activity's AppCompat
+     * view factory are not thread-safe, so a background inflater gets its own
+     * AppCompatDelegate and builds the same AppCompat* widgets the main thread would.
+     */
+    public static LayoutInflater inflater(Context ctx) {
+        if (Looper.myLooper() == Looper.getMainLooper()) return LayoutInflater.from(ctx);
+        LayoutInflater current = CURRENT.get();
+        return current != null && current.getContext() == ctx ? current : backgroundInflater(ctx);
+    }
+
+    private static LayoutInflater backgroundInflater(Context ctx) {
+        LayoutInflater inflater = new BackgroundInflater(ctx);
+        Activity activity = activityOf(ctx);
+        if (activity != null) {
+            LayoutInflaterCompat.setFactory2(inflater, new DelegateFactory(AppCompatDelegate.create(activity, null)));
+        }
+        return inflater;
+    }
+
+    @Nullable
+    private static Activity activityOf(Context ctx) {
+        while (ctx instanceof ContextWrapper) {
+            if (ctx instanceof Activity) return (Activity) ctx;
+            ctx = ((ContextWrapper) ctx).getBaseContext();
+        }
+        return null;
+    }
+
+    // The AppCompat widget swap, from a delegate only this inflater uses
+    private static final class DelegateFactory implements LayoutInflater.Factory2 {
+        private final AppCompatDelegate delegate;
+
+        DelegateFactory(AppCompatDelegate delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public View onCreateView(@Nullable View parent, @NonNull String name, @NonNull Context ctx, @NonNull AttributeSet attrs) {
+            return delegate.createView(parent, name, ctx, attrs);
+        }
+
+        @Override
+        public View onCreateView(@NonNull String name, @NonNull Context ctx, @NonNull AttributeSet attrs) {
+            return onCreateView(null, name, ctx, attrs);
+        }
+    }
+
+    // What AsyncLayoutInflater uses for names the factory leaves alone: framework
+    // widgets by their short names
+    private static final class BackgroundInflater extends LayoutInflater {
+        private static final String[] PREFIXES = {"android.widget.", "android.webkit.", "android.app."};
+
+        BackgroundInflater(Context ctx) {
+            super(ctx);
+        }
+
+        @Override
+        public LayoutInflater cloneInContext(Context ctx) {
+            return new BackgroundInflater(ctx);
+        }
+
+        @Override
+        protected View onCreateView(@NonNull String name, AttributeSet attrs) throws ClassNotFoundException {
+            for (String prefix : PREFIXES) {
+                try {
+                    View v = createView(name, prefix, attrs);
+                    if (v != null) return v;
+                } catch (ClassNotFoundException ignored) {
+                    // try the next package
+                }
+            }
+            return super.onCreateView(name, attrs);
+        }
+    }
+}
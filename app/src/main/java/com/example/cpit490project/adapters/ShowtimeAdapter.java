@@ -4,98 +4,134 @@ package com.example.cpit490project.adapters;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
-import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Button;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.cpit490project.R;
+import com.example.cpit490project.data.ChainCompare;
+import com.example.cpit490project.data.WatchJournal;
+import com.example.cpit490project.metrics.FrameStats;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.models.Movie;
 import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.util.StableIds;
+import com.example.cpit490project.views.TimeSlotView;
 
-import java.util.List;
-
+/**
+ * Showtimes of one city and date. Feed it with {@link #submitList}.
+ * {@link ChainCompare.Row}s open their own chain's booking page.
+ */
 public class ShowtimeAdapter
-        extends RecyclerView.Adapter<ShowtimeAdapter.VH> {
+        extends ListAdapter<Showtime, ShowtimeAdapter.VH> {
 
-    private final List<Showtime> list;
     private final Context ctx;
-    private final String parentChain;
-    private final String rawShowtimesUrl;
+    private final Movie movie;
+    private final Uri showtimesUri;  // every slot opens the same booking page
+
+    private static final Histogram BIND = Metrics.histogram("ShowtimeAdapter", "bind");
+    private final FrameStats.Binding frames = new FrameStats.Binding("ShowtimeAdapter");
+
+    private static final DiffUtil.ItemCallback<Showtime> DIFF = new DiffUtil.ItemCallback<Showtime>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Showtime a, @NonNull Showtime b) {
+            return a.key().equals(b.key());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Showtime a, @NonNull Showtime b) {
+            return a.times.equals(b.times);
+        }
+    };
 
     public ShowtimeAdapter(Context ctx,
-                           List<Showtime> list,
+                           Movie movie,
                            String parentChain,
                            String rawShowtimesUrl) {
-        this.ctx            = ctx;
-        this.list           = list;
-        this.parentChain    = parentChain.toLowerCase();
-        this.rawShowtimesUrl= rawShowtimesUrl;
+        super(DIFF);
+        this.ctx          = ctx;
+        this.movie        = movie;
+        this.showtimesUri = Uri.parse(fullShowtimesUrl(parentChain.toLowerCase(), rawShowtimesUrl));
+        setHasStableIds(true);
+    }
+
+    // The backend sometimes stores only the path; prefix it with the chain's site
+    private static String fullShowtimesUrl(String parentChain, String rawShowtimesUrl) {
+        String base;
+        switch (parentChain) {
+            case "amc":   base = "https://www.amccinemas.com"; break;
+            case "muvi":  base = "https://www.muvicinemas.com"; break;
+            case "vox":   base = "https://ksa.voxcinemas.com"; break;
+            default:      base = ""; break;
+        }
+        return rawShowtimesUrl.startsWith("http")
+                ? rawShowtimesUrl
+                : base + rawShowtimesUrl;
     }
 
     @NonNull
     @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View v = LayoutInflater.from(ctx)
+        // also runs on a background thread when the list is prewarmed
+        View v = Prewarm.inflater(ctx)
                 .inflate(R.layout.item_showtime, parent, false);
-        return new VH(v);
+        VH h = new VH(v);
+        // ON CLICK: open the booking page (set once per holder, not per bind)
+        h.timeSlots.setOnSlotClickListener((view, index) -> {
+            int pos = h.getBindingAdapterPosition();
+            Showtime s = pos == RecyclerView.NO_POSITION ? null : getItem(pos);
+            if (s instanceof ChainCompare.Row) {
+                // compare mode: the row's own chain and booking page
+                ChainCompare.Row row = (ChainCompare.Row) s;
+                WatchJournal.get(ctx).record(WatchJournal.SHOWTIME_TAP, row.movie);
+                ctx.startActivity(new Intent(Intent.ACTION_VIEW,
+                        Uri.parse(fullShowtimesUrl(row.chain, row.movie.showtimesUrl))));
+                return;
+            }
+            WatchJournal.get(ctx).record(WatchJournal.SHOWTIME_TAP, movie);
+            ctx.startActivity(new Intent(Intent.ACTION_VIEW, showtimesUri));
+        });
+        return h;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView rv) {
+        frames.attach(rv);
     }
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int i) {
-        Showtime s = list.get(i);
+        long t = Metrics.begin("ShowtimeAdapter.bind");
+        frames.mark();
+        try {
+            bind(h, i);
+        } finally {
+            Metrics.end(BIND, t);
+        }
+    }
+
+    private void bind(VH h, int i) {
+        Showtime s = getItem(i);
         h.tvPlace.setText(s.place);
         h.tvExp.setText(s.experience);
-
-        h.llTimes.removeAllViews();
-        for (String t : s.times) {
-            Button b = new Button(ctx);
-            b.setText(t);
-            b.setAllCaps(false);
-            b.setTextSize(TypedValue.COMPLEX_UNIT_SP, 12);
-
-            LinearLayout.LayoutParams p = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.WRAP_CONTENT,
-                    LinearLayout.LayoutParams.WRAP_CONTENT
-            );
-            p.setMargins(8,0,8,0);
-            b.setLayoutParams(p);
-
-            // ON CLICK: build and launch the correct URL
-            b.setOnClickListener(v -> {
-                String base;
-                switch (parentChain) {
-                    case "amc":   base = "https://www.amccinemas.com"; break;
-                    case "muvi":  base = "https://www.muvicinemas.com"; break;
-                    case "vox":   base = "https://ksa.voxcinemas.com"; break;
-                    default:      base = ""; break;
-                }
-                String full = rawShowtimesUrl.startsWith("http")
-                        ? rawShowtimesUrl
-                        : base + rawShowtimesUrl;
-
-                Intent web = new Intent(Intent.ACTION_VIEW, Uri.parse(full));
-                ctx.startActivity(web);
-            });
-
-            h.llTimes.addView(b);
-        }
+        h.timeSlots.setTimes(s.times);
     }
 
-    @Override public int getItemCount() { return list.size(); }
+    @Override public long getItemId(int i) { return StableIds.of(getItem(i).key()); }
 
     static class VH extends RecyclerView.ViewHolder {
         TextView     tvPlace, tvExp;
-        LinearLayout llTimes;
+        TimeSlotView timeSlots;
         VH(View v) {
             super(v);
-            tvPlace = v.findViewById(R.id.tvPlace);
-            tvExp   = v.findViewById(R.id.tvExp);
-            llTimes = v.findViewById(R.id.llTimes);
+            tvPlace   = v.findViewById(R.id.tvPlace);
+            tvExp     = v.findViewById(R.id.tvExp);
+            timeSlots = v.findViewById(R.id.timeSlots);
         }
     }
 }
@@ -0,0 +1,87 @@
+// app/src/main/java/com/example/cpit490project/data/Account.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import com.android.volley.Request;
+import com.android.volley.toolbox.JsonObjectRequest;
+import com.example.cpit490project.util.AppExecutors;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The signed-in user, as returned by POST /api/users/login. The id is what
+ * {@link WatchHistoryWorker} sends the journal under; until someone signs in,
+ * events wait in the {@link WatchJournal}.
+ */
+public final class Account {
+    private static final String PREFS    = "account";
+    private static final String KEY_ID   = "user_id";
+    private static final String KEY_NAME = "name";
+
+    public interface Callback {
+        /** On the main thread; {@code error} is null on success. */
+        void onResult(@Nullable String error);
+    }
+
+    private Account() {}
+
+    @Nullable
+    public static String userId(Context ctx) {
+        return prefs(ctx).getString(KEY_ID, null);
+    }
+
+    @Nullable
+    public static String name(Context ctx) {
+        return prefs(ctx).getString(KEY_NAME, null);
+    }
+
+    /** Checks the credentials with the backend; on success remembers the user and sends the journal. */
+    public static void signIn(Context ctx, String email, String password, Object tag, Callback callback) {
+        Context app = ctx.getApplicationContext();
+        JSONObject body;
+        try {
+            body = new JSONObject().put("email", email).put("password", password);
+        } catch (JSONException e) {
+            callback.onResult(e.getMessage());
+            return;
+        }
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.POST,
+                ApiClient.url("/api/users/login"), body,
+                res -> {
+                    JSONObject user = res.optJSONObject("user");
+                    String id = user == null ? "" : user.optString("id");
+                    if (id.isEmpty()) {
+                        callback.onResult("Unexpected response");
+                        return;
+                    }
+                    prefs(app).edit()
+                            .putString(KEY_ID, id)
+                            .putString(KEY_NAME, user.optString("name"))
+                            .apply();
+                    WatchHistoryWorker.scheduleFlush(app);
+                    callback.onResult(null);
+                },
+                err -> {
+                    boolean rejected = err.networkResponse != null && err.networkResponse.statusCode == 401;
+                    callback.onResult(rejected ? "Invalid email or password" : "Could not reach the server");
+                });
+        req.setShouldCache(false);
+        ApiClient.get(app).add(req, tag);
+    }
+
+    /** Forgets the user, and the events they had not sent yet (they are not the next user's). */
+    public static void signOut(Context ctx) {
+        prefs(ctx).edit().clear().apply();
+        WatchJournal journal = WatchJournal.get(ctx);
+        AppExecutors.background().execute(() -> journal.deleteThrough(Long.MAX_VALUE));
+    }
+
+    private static SharedPreferences prefs(Context ctx) {
+        return ctx.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,65 @@
+// app/src/main/java/com/example/cpit490project/data/ApiClient.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.BasicNetwork;
+import com.android.volley.toolbox.DiskBasedCache;
+import com.android.volley.toolbox.HurlStack;
+import com.example.cpit490project.BuildConfig;
+import com.example.cpit490project.metrics.TimedHttpStack;
+
+import java.io.File;
+
+/**
+ * The one Volley queue for the whole process.
+ *
+ * HurlStack sits on the platform HttpURLConnection, which already keeps
+ * connections alive in a pool and asks for / unzips gzip bodies on its own.
+ * The disk cache stores ETag and Last-Modified, so a repeated fetch goes out
+ * with If-None-Match / If-Modified-Since and a 304 costs only the headers.
+ * {@link TimedHttpStack} records per-endpoint wire timings into Metrics.
+ */
+public class ApiClient {
+    public static final String BASE = BuildConfig.API_BASE;
+
+    private static final String CACHE_DIR   = "volley";
+    private static final int    CACHE_BYTES = 8 * 1024 * 1024;
+
+    private static ApiClient instance;
+
+    private final RequestQueue queue;
+
+    public static synchronized ApiClient get(Context ctx) {
+        if (instance == null) {
+            instance = new ApiClient(ctx.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ApiClient(Context appCtx) {
+        File dir = new File(appCtx.getCacheDir(), CACHE_DIR);
+        queue = new RequestQueue(
+                new DiskBasedCache(dir, CACHE_BYTES),
+                new BasicNetwork(new TimedHttpStack(new HurlStack()))
+        );
+        queue.start();
+    }
+
+    public static String url(String path) {
+        return BASE + path;
+    }
+
+    /** Queues the request under the given tag so it can be dropped with {@link #cancelAll}. */
+    public <T> Request<T> add(Request<T> req, Object tag) {
+        req.setTag(tag);
+        return queue.add(req);
+    }
+
+    /** Call from onDestroy with the same tag used in {@link #add}. */
+    public void cancelAll(Object tag) {
+        queue.cancelAll(tag);
+    }
+}
@@ -0,0 +1,338 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogBinary.java
+package com.example.cpit490project.data;
+
+import androidx.annotation.Nullable;
+
+import com.example.cpit490project.models.CatalogStrings;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Offer;
+import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.models.Timetable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder for the compact catalog encoding (backend/catalogCodec.js has the
+ * layout). Every string is stored once in a table and referenced by index,
+ * and timings come as flat date / city / place / experience rows, so decoding
+ * is a loop of varint reads straight into the models with no key matching.
+ * Timetable strings are mapped to {@link CatalogStrings} codes once per body,
+ * after which every row is a handful of int copies.
+ *
+ * Also encodes movie lists, which is only needed to save the result of
+ * merging a delta.
+ */
+public final class CatalogBinary {
+    public static final String MEDIA_TYPE = "application/vnd.aflam.catalog";
+
+    private static final byte[] MAGIC = {'A', 'C', 'B', 1};
+    static final int KIND_MOVIES  = 1;
+    static final int KIND_TIMINGS = 2;
+    static final int KIND_OFFERS  = 3;
+    private static final int FLAG_DELTA = 1;
+
+    /** A decoded movie list; {@link #deleted} is only filled for deltas. */
+    static final class MovieList {
+        long seq;
+        boolean delta;
+        long since;
+        final List<Movie> movies = new ArrayList<>();
+        final List<String> deleted = new ArrayList<>();
+    }
+
+    private CatalogBinary() {}
+
+    /** Same result as {@link CatalogParser#parseMovies(String, String, CatalogParser.BatchListener)}. */
+    public static List<Movie> decodeMovies(byte[] body, String chain,
+                                           @Nullable CatalogParser.BatchListener<Movie> batches)
+            throws IOException {
+        return readMovies(body, chain, batches).movies;
+    }
+
+    public static List<Showtime> decodeTimings(byte[] body) throws IOException {
+        Reader r = open(body, KIND_TIMINGS);
+        r.string();  // id
+        int rows = r.count();
+        Timetable.Builder out = new Timetable.Builder();
+        for (int i = 0; i < rows; i++) readRow(r, out);
+        return out.build();
+    }
+
+    public static List<Offer> decodeOffers(byte[] body) throws IOException {
+        Reader r = open(body, KIND_OFFERS);
+        int n = r.count();
+        List<Offer> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String img   = r.string();
+            String title = r.string();
+            String link  = r.string();
+            out.add(new Offer(img, title, link));
+        }
+        return out;
+    }
+
+    /** The version fields, read without touching the string table. */
+    static MovieDelta.Header peek(byte[] body) throws IOException {
+        Reader r = new Reader(body);
+        r.header(KIND_MOVIES);
+        MovieDelta.Header h = new MovieDelta.Header();
+        h.seq   = r.varlong();
+        h.delta = (r.varlong() & FLAG_DELTA) != 0;
+        return h;
+    }
+
+    static MovieList readMovies(byte[] body, String chain,
+                                @Nullable CatalogParser.BatchListener<Movie> batches)
+            throws IOException {
+        Reader r = new Reader(body);
+        MovieList list = new MovieList();
+        r.header(KIND_MOVIES);
+        list.seq   = r.varlong();
+        list.delta = (r.varlong() & FLAG_DELTA) != 0;
+        if (list.delta) list.since = r.varlong();
+        r.table();
+
+        int n = r.count();
+        for (int i = 0; i < n; i++) {
+            list.movies.add(readMovie(r, chain));
+            if (batches != null && list.movies.size() % CatalogParser.BATCH_SIZE == 0) {
+                batches.onBatch(new ArrayList<>(list.movies));
+            }
+        }
+        if (list.delta) {
+            int gone = r.count();
+            for (int i = 0; i < gone; i++) list.deleted.add(r.string());
+        }
+        return list;
+    }
+
+    /**
+     * Binary counterpart of {@link MovieDelta#merge(String, String)}: changed movies
+     * replace the old entry in place, new ones go at the end, deleted ones are dropped.
+     */
+    static byte[] merge(byte[] base, byte[] delta) throws IOException {
+        MovieList b = readMovies(base, "", null);
+        MovieList d = readMovies(delta, "", null);
+
+        Map<String, Movie> byId = new LinkedHashMap<>();
+        for (Movie m : b.movies) byId.put(m.id, m);
+        for (Movie m : d.movies) byId.put(m.id, m);  // keeps the old position if it was there
+        for (String id : d.deleted) byId.remove(id);
+        return encodeMovies(d.seq, new ArrayList<>(byId.values()));
+    }
+
+    private static Movie readMovie(Reader r, String chain) throws IOException {
+        String id           = r.string();
+        String title        = r.string();
+        String img          = r.string();
+        String lang         = r.shared();
+        String showtimesUrl = r.string();
+
+        int nCities = r.count();
+        List<String> cities = new ArrayList<>(nCities);
+        for (int i = 0; i < nCities; i++) cities.add(r.shared());
+
+        Timetable timings = null;  // absent in ?view=card lists
+        int rows = r.count() - 1;
+        if (rows >= 0) {
+            Timetable.Builder b = new Timetable.Builder();
+            for (int i = 0; i < rows; i++) readRow(r, b);
+            timings = b.build();
+        }
+        if (cities.isEmpty() && timings != null) {
+            // full documents have no "Cities" list; derive it like CatalogParser does
+            cities.addAll(CatalogParser.citiesOf(timings));
+        }
+
+        Movie m = new Movie(title, img, lang, showtimesUrl, timings);
+        m.id     = id;
+        m.chain  = chain;
+        m.cities = cities;
+        return m;
+    }
+
+    private static void readRow(Reader r, Timetable.Builder out) throws IOException {
+        int date  = r.code();
+        int city  = r.code();
+        int place = r.code();
+        int exp   = r.code();
+        out.row(date, city, place, exp);
+        int n = r.count();
+        for (int i = 0; i < n; i++) out.time(r.code());
+    }
+
+    private static Reader open(byte[] body, int kind) throws IOException {
+        Reader r = new Reader(body);
+        r.header(kind);
+        r.varlong();  // seq
+        if ((r.varlong() & FLAG_DELTA) != 0) r.varlong();
+        r.table();
+        return r;
+    }
+
+    private static final class Reader {
+        private final byte[] b;
+        private int pos;
+        private String[] table = new String[0];
+        private int[] codes;  // table index -> CatalogStrings code, -1 until first needed
+
+        Reader(byte[] b) {
+            this.b = b;
+        }
+
+        void header(int kind) throws IOException {
+            if (b.length < MAGIC.length + 1) throw new IOException("Truncated catalog body");
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (b[i] != MAGIC[i]) throw new IOException("Not a catalog body (or unknown version)");
+            }
+            pos = MAGIC.length;
+            int k = b[pos++];
+            if (k != kind) throw new IOException("Expected catalog kind " + kind + ", got " + k);
+        }
+
+        void table() throws IOException {
+            int n = count();
+            table = new String[n];
+            for (int i = 0; i < n; i++) {
+                int len = count();
+                if (len > b.length - pos) throw new IOException("Truncated catalog body");
+                table[i] = new String(b, pos, len, StandardCharsets.UTF_8);
+                pos += len;
+            }
+            codes = new int[n];
+            Arrays.fill(codes, -1);
+        }
+
+        /** A table string as its {@link CatalogStrings} code. */
+        int code() throws IOException {
+            int i = count();
+            if (i >= table.length) throw new IOException("String index out of range: " + i);
+            int c = codes[i];
+            if (c < 0) c = codes[i] = CatalogStrings.code(table[i]);
+            return c;
+        }
+
+        /** A table string that repeats across movies, as the shared instance. */
+        String shared() throws IOException {
+            return CatalogStrings.get(code());
+        }
+
+        String string() throws IOException {
+            int i = count();
+            if (i >= table.length) throw new IOException("String index out of range: " + i);
+            return table[i];
+        }
+
+        // A varint that sizes something, so it must fit in what is left of the body
+        int count() throws IOException {
+            long v = varlong();
+            if (v > b.length) throw new IOException("Bad count " + v);
+            return (int) v;
+        }
+
+        long varlong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= b.length) throw new IOException("Truncated catalog body");
+                int x = b[pos++];
+                v |= (long) (x & 0x7f) << shift;
+                if ((x & 0x80) == 0) return v;
+            }
+            throw new IOException("Varint too long");
+        }
+    }
+
+    /** Encodes a full (non-delta) movie list at version {@code seq}. */
+    static byte[] encodeMovies(long seq, List<Movie> movies) {
+        // Pass 1 counts string uses, pass 2 writes; both walk the same code
+        Map<String, Integer> uses = new HashMap<>();
+        writeMovies(new Sink() {
+            @Override void str(String s) {
+                Integer n = uses.get(s);
+                uses.put(s, n == null ? 1 : n + 1);
+            }
+            @Override void num(long n) { }
+        }, movies);
+
+        uses.remove("");
+        List<Map.Entry<String, Integer>> byUse = new ArrayList<>(uses.entrySet());
+        Collections.sort(byUse, (x, y) -> Integer.compare(y.getValue(), x.getValue()));
+        Map<String, Integer> index = new HashMap<>(byUse.size() * 2);
+        index.put("", 0);
+        for (Map.Entry<String, Integer> e : byUse) index.put(e.getKey(), index.size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(KIND_MOVIES);
+        writeVarint(out, seq);
+        writeVarint(out, 0);  // flags: a full list
+
+        writeVarint(out, index.size());
+        writeVarint(out, 0);  // ""
+        for (Map.Entry<String, Integer> e : byUse) {
+            byte[] s = e.getKey().getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, s.length);
+            out.write(s, 0, s.length);
+        }
+
+        writeMovies(new Sink() {
+            @Override void str(String s) { writeVarint(out, index.get(s)); }
+            @Override void num(long n)   { writeVarint(out, n); }
+        }, movies);
+        return out.toByteArray();
+    }
+
+    private abstract static class Sink {
+        abstract void str(String s);
+        abstract void num(long n);
+    }
+
+    private static void writeMovies(Sink out, List<Movie> movies) {
+        out.num(movies.size());
+        for (Movie m : movies) {
+            out.str(nonNull(m.id));
+            out.str(nonNull(m.title));
+            out.str(nonNull(m.imageUrl));
+            out.str(nonNull(m.language));
+            out.str(nonNull(m.showtimesUrl));
+            List<String> cities = m.cities == null ? Collections.emptyList() : m.cities;
+            out.num(cities.size());
+            for (String c : cities) out.str(nonNull(c));
+            if (m.timings == null) {
+                out.num(0);
+                continue;
+            }
+            out.num(m.timings.size() + 1);
+            for (Showtime s : m.timings) {
+                out.str(nonNull(s.date));
+                out.str(nonNull(s.city));
+                out.str(nonNull(s.place));
+                out.str(nonNull(s.experience));
+                List<String> times = s.times == null ? Collections.emptyList() : s.times;
+                out.num(times.size());
+                for (String t : times) out.str(nonNull(t));
+            }
+        }
+    }
+
+    private static String nonNull(@Nullable String s) {
+        return s == null ? "" : s;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7fL) != 0) {
+            out.write((int) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+}
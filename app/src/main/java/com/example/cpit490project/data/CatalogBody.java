@@ -0,0 +1,38 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogBody.java
+package com.example.cpit490project.data;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * One catalog response body as the backend sent it: JSON text, or the compact
+ * encoding read by {@link CatalogBinary}. Exactly one of the two is set.
+ */
+public final class CatalogBody {
+    @Nullable public final String json;
+    @Nullable public final byte[] binary;
+
+    private CatalogBody(@Nullable String json, @Nullable byte[] binary) {
+        this.json   = json;
+        this.binary = binary;
+    }
+
+    public static CatalogBody json(String json) {
+        return new CatalogBody(json, null);
+    }
+
+    public static CatalogBody binary(byte[] binary) {
+        return new CatalogBody(null, binary);
+    }
+
+    public boolean isBinary() {
+        return binary != null;
+    }
+
+    /** Same format and same content. */
+    public boolean sameAs(@Nullable CatalogBody other) {
+        if (other == null) return false;
+        return isBinary() ? Arrays.equals(binary, other.binary) : json.equals(other.json);
+    }
+}
@@ -0,0 +1,279 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogParser.java
+package com.example.cpit490project.data;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.Nullable;
+
+import com.example.cpit490project.models.CatalogStrings;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Offer;
+import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.models.Timetable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming decoders for the catalog responses.
+ * Reads the body token by token straight into the models instead of building
+ * an org.json tree first. Timings go into a compact {@link Timetable} and
+ * repeated strings (cities, languages) are the shared {@link CatalogStrings}
+ * instances. Call from a background thread.
+ *
+ * The {@link CatalogBody} overloads also take the binary encoding and hand it
+ * to {@link CatalogBinary}.
+ */
+public final class CatalogParser {
+    /** Movies are handed out in groups of this size while the rest is still being read. */
+    static final int BATCH_SIZE = 10;
+
+    public interface BatchListener<T> {
+        /** Gets a copy of everything parsed so far. */
+        void onBatch(List<T> soFar);
+    }
+
+    private CatalogParser() {}
+
+    public static List<Movie> parseMovies(CatalogBody body, String chain,
+                                          @Nullable BatchListener<Movie> batches)
+            throws IOException {
+        return body.isBinary()
+                ? CatalogBinary.decodeMovies(body.binary, chain, batches)
+                : parseMovies(body.json, chain, batches);
+    }
+
+    public static List<Showtime> parseTimings(CatalogBody body) throws IOException {
+        return body.isBinary() ? CatalogBinary.decodeTimings(body.binary) : parseTimings(body.json);
+    }
+
+    public static List<Offer> parseOffers(CatalogBody body) throws IOException {
+        return body.isBinary() ? CatalogBinary.decodeOffers(body.binary) : parseOffers(body.json);
+    }
+
+    /** Decodes {@code {"count": n, "movies": [...]}} from /movies/parent/{chain}. */
+    public static List<Movie> parseMovies(String body, String chain,
+                                          @Nullable BatchListener<Movie> batches)
+            throws IOException {
+        List<Movie> movies = new ArrayList<>();
+        try (JsonReader r = new JsonReader(new StringReader(body))) {
+            r.beginObject();
+            while (r.hasNext()) {
+                if (!r.nextName().equals("movies")) {
+                    r.skipValue();
+                    continue;
+                }
+                r.beginArray();
+                while (r.hasNext()) {
+                    movies.add(readMovie(r, chain));
+                    if (batches != null && movies.size() % BATCH_SIZE == 0) {
+                        batches.onBatch(new ArrayList<>(movies));
+                    }
+                }
+                r.endArray();
+            }
+            r.endObject();
+        }
+        return movies;
+    }
+
+    /** Decodes {@code {"id": "...", "Timings": [...]}} from /movies/{id}/timings. */
+    public static List<Showtime> parseTimings(String body) throws IOException {
+        Timetable.Builder timings = new Timetable.Builder();
+        try (JsonReader r = new JsonReader(new StringReader(body))) {
+            r.beginObject();
+            while (r.hasNext()) {
+                if (r.nextName().equals("Timings")) readTimings(r, timings);
+                else r.skipValue();
+            }
+            r.endObject();
+        }
+        return timings.build();
+    }
+
+    /** Decodes {@code {"count": n, "offers": [...]}} from /offers. */
+    public static List<Offer> parseOffers(String body) throws IOException {
+        List<Offer> offers = new ArrayList<>();
+        try (JsonReader r = new JsonReader(new StringReader(body))) {
+            r.beginObject();
+            while (r.hasNext()) {
+                if (!r.nextName().equals("offers")) {
+                    r.skipValue();
+                    continue;
+                }
+                r.beginArray();
+                while (r.hasNext()) {
+                    offers.add(readOffer(r));
+                }
+                r.endArray();
+            }
+            r.endObject();
+        }
+        return offers;
+    }
+
+    private static Movie readMovie(JsonReader r, String chain) throws IOException {
+        String id = "", title = "", img = "", lang = "", showtimesUrl = "";
+        List<String> cities = new ArrayList<>();
+        Timetable.Builder timings = null;  // absent in ?view=card lists
+
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "_id":           id           = nextId(r);     break;
+                case "Title":         title        = nextString(r); break;
+                case "Image URL":     img          = nextString(r); break;
+                case "Language":      lang         = CatalogStrings.intern(nextString(r)); break;
+                case "Showtimes URL": showtimesUrl = nextString(r); break;
+                case "Cities":        readCities(r, cities);        break;
+                case "Timings":
+                    timings = new Timetable.Builder();
+                    readTimings(r, timings);
+                    break;
+                default:              r.skipValue();                break;
+            }
+        }
+        r.endObject();
+        Timetable table = timings == null ? null : timings.build();
+        if (cities.isEmpty() && table != null) {
+            // full documents have no "Cities" list; derive it
+            cities.addAll(citiesOf(table));
+        }
+        Movie m = new Movie(title, img, lang, showtimesUrl, table);
+        m.id     = id;
+        m.chain  = chain;
+        m.cities = cities;
+        return m;
+    }
+
+    /** Distinct cities of a timetable in first-seen order, as shared instances. */
+    static List<String> citiesOf(Timetable table) {
+        Set<Integer> seen = new LinkedHashSet<>();
+        for (int i = 0; i < table.size(); i++) seen.add(table.cityCode(i));
+        List<String> out = new ArrayList<>(seen.size());
+        for (int code : seen) out.add(CatalogStrings.get(code));
+        return out;
+    }
+
+    // Timings: [ { Date, Showtimes: [ { City, Place, Experiences: [ { Experience, Times } ] } ] } ]
+    private static void readTimings(JsonReader r, Timetable.Builder out) throws IOException {
+        if (skipNull(r)) return;
+        r.beginArray();
+        while (r.hasNext()) {
+            // "Date" is not guaranteed to come before "Showtimes", so fill it in afterwards
+            int first = out.size();
+            String date = "";
+            r.beginObject();
+            while (r.hasNext()) {
+                switch (r.nextName()) {
+                    case "Date":      date = nextString(r);    break;
+                    case "Showtimes": readShowtimes(r, out);   break;
+                    default:          r.skipValue();           break;
+                }
+            }
+            r.endObject();
+            out.fillDate(first, date);
+        }
+        r.endArray();
+    }
+
+    private static void readShowtimes(JsonReader r, Timetable.Builder out) throws IOException {
+        if (skipNull(r)) return;
+        r.beginArray();
+        while (r.hasNext()) {
+            int first = out.size();
+            String city = "", place = "";
+            r.beginObject();
+            while (r.hasNext()) {
+                switch (r.nextName()) {
+                    case "City":        city  = nextString(r);    break;
+                    case "Place":       place = nextString(r);    break;
+                    case "Experiences": readExperiences(r, out);  break;
+                    default:            r.skipValue();            break;
+                }
+            }
+            r.endObject();
+            out.fillPlace(first, city, place);
+        }
+        r.endArray();
+    }
+
+    private static void readExperiences(JsonReader r, Timetable.Builder out) throws IOException {
+        if (skipNull(r)) return;
+        r.beginArray();
+        List<String> times = new ArrayList<>();  // reused: the builder only keeps codes
+        while (r.hasNext()) {
+            String exp = "";
+            times.clear();
+            r.beginObject();
+            while (r.hasNext()) {
+                switch (r.nextName()) {
+                    case "Experience": exp = nextString(r); break;
+                    case "Times":      readStrings(r, times); break;
+                    default: r.skipValue(); break;
+                }
+            }
+            r.endObject();
+            // "Experience" may come after "Times", so the row is added once both are read
+            out.row("", "", "", exp).times(times);
+        }
+        r.endArray();
+    }
+
+    private static Offer readOffer(JsonReader r) throws IOException {
+        String img = "", title = "", link = "";
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "offer_image": img   = nextString(r); break;
+                case "offer title": title = nextString(r); break;
+                case "offer URL":   link  = nextString(r); break;
+                default:            r.skipValue();         break;
+            }
+        }
+        r.endObject();
+        return new Offer(img, title, link);
+    }
+
+    private static void readCities(JsonReader r, List<String> out) throws IOException {
+        if (skipNull(r)) return;
+        r.beginArray();
+        while (r.hasNext()) out.add(CatalogStrings.intern(nextString(r)));
+        r.endArray();
+    }
+
+    private static void readStrings(JsonReader r, List<String> out) throws IOException {
+        if (skipNull(r)) return;
+        r.beginArray();
+        while (r.hasNext()) out.add(nextString(r));
+        r.endArray();
+    }
+
+    private static boolean skipNull(JsonReader r) throws IOException {
+        if (r.peek() != JsonToken.NULL) return false;
+        r.nextNull();
+        return true;
+    }
+
+    private static String nextString(JsonReader r) throws IOException {
+        return skipNull(r) ? "" : r.nextString();
+    }
+
+    // ObjectIds normally serialize as a hex string, but accept extended JSON {"$oid": "..."} too
+    private static String nextId(JsonReader r) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_OBJECT) return nextString(r);
+        String id = "";
+        r.beginObject();
+        while (r.hasNext()) {
+            if (r.nextName().equals("$oid")) id = nextString(r);
+            else r.skipValue();
+        }
+        r.endObject();
+        return id;
+    }
+}
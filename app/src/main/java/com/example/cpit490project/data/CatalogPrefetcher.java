@@ -0,0 +1,67 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogPrefetcher.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.PowerManager;
+import android.util.Log;
+
+import com.example.cpit490project.images.ImageLoader;
+import com.example.cpit490project.models.Movie;
+
+import java.util.List;
+
+/**
+ * Warms every chain's catalog (and the posters of its first screen) from the
+ * home screen, so opening a chain renders from memory/disk instead of waiting
+ * a round trip. Runs once per process, at low priority, and not at all on
+ * metered networks or in battery saver.
+ */
+public final class CatalogPrefetcher {
+    private static final String TAG = "CatalogPrefetcher";
+
+    /** Posters in the first screen of the 2-column grid. */
+    private static final int FIRST_SCREEN_POSTERS = 6;
+
+    private static boolean started;
+
+    private CatalogPrefetcher() {}
+
+    /** Call on the main thread once the home screen has something on it. */
+    public static void start(Context ctx) {
+        if (started) return;
+        Context app = ctx.getApplicationContext();
+        if (!allowed(app)) {
+            Log.d(TAG, "Skipping prefetch (metered network or battery saver)");
+            return;
+        }
+        started = true;
+
+        CatalogRepository repo = CatalogRepository.get(app);
+        for (String chain : CatalogRepository.CHAINS) {
+            boolean[] postersDone = new boolean[1];
+            // never left: a screen opening the chain meanwhile just joins this load
+            repo.prefetchMovies(chain, (items, fromCache) -> {
+                if (postersDone[0] || items.isEmpty()) return;
+                postersDone[0] = true;
+                preloadPosters(app, items);
+            });
+        }
+    }
+
+    private static void preloadPosters(Context app, List<Movie> movies) {
+        int n = Math.min(FIRST_SCREEN_POSTERS, movies.size());
+        for (int i = 0; i < n; i++) {
+            ImageLoader.preloadPoster(app, movies.get(i).imageUrl);
+        }
+    }
+
+    /** False on a metered network or in battery saver: background downloads wait. */
+    public static boolean allowed(Context app) {
+        ConnectivityManager cm = (ConnectivityManager) app.getSystemService(Context.CONNECTIVITY_SERVICE);
+        PowerManager pm = (PowerManager) app.getSystemService(Context.POWER_SERVICE);
+        boolean metered   = cm == null || cm.isActiveNetworkMetered();
+        boolean saver     = pm != null && pm.isPowerSaveMode();
+        return !metered && !saver;
+    }
+}
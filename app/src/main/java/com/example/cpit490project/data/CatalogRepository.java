@@ -0,0 +1,455 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogRepository.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Offer;
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.search.SearchIndex;
+import com.example.cpit490project.util.AppExecutors;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stale-while-revalidate access to the catalog endpoints.
+ * Every load first renders the snapshot saved in {@link CatalogStore} (if any),
+ * then asks the backend and only calls back again when the body actually changed.
+ * Bodies are decoded on a background thread by {@link CatalogParser}; the backend
+ * sends the compact {@link CatalogBinary} encoding when it supports it, JSON otherwise.
+ *
+ * Movie lists are versioned by the backend: once a list is saved, refreshes ask
+ * for {@code ?since=<version>} and {@link MovieDelta} merges the changed movies
+ * into the saved body, so most refreshes move kilobytes instead of the catalog.
+ *
+ * The last list seen for each chain is also kept in memory so screens can hand
+ * each other a {@link Movie#key()} instead of the movie itself, and fed into a
+ * {@link SearchIndex} that covers every chain loaded so far.
+ *
+ * Movie lists are loaded at most once at a time per chain: every caller joins
+ * the same {@link SharedLoad} and gets a {@link Subscription}, and the request
+ * is cancelled when the last one leaves.
+ */
+public class CatalogRepository {
+    private static final String TAG = "CatalogRepository";
+
+    /** Every chain the backend serves under /movies/parent/{chain}. */
+    public static final String[] CHAINS = {"vox", "amc", "muvi", "empire"};
+
+    /** The backend's Parent value for a chain id, as stored on its movies ("vox" -> "Vox"). */
+    public static String parentOf(String chain) {
+        switch (chain) {
+            case "vox":    return "Vox";
+            case "amc":    return "AMC";
+            case "muvi":   return "Muvi";
+            case "empire": return "Empire";
+            default:       return chain;
+        }
+    }
+
+    /**
+     * Called on the main thread with the full list, once from disk and/or once from
+     * the network. While nothing is on screen yet it is also called with growing
+     * partial lists as the parser gets through the body.
+     */
+    public interface Listener<T> {
+        void onData(List<T> items, boolean fromCache);
+    }
+
+    /**
+     * A {@link Listener} that also hears when the network half of the load is over:
+     * after its last {@link #onData}, or with nothing more if the saved copy was
+     * already current. Main thread.
+     */
+    public interface LoadListener<T> extends Listener<T> {
+        void onLoaded(boolean success);
+    }
+
+    /** A caller's place in a shared load. */
+    public interface Subscription {
+        /** Stops the callbacks; the load is cancelled if nobody else is waiting for it. */
+        void cancel();
+    }
+
+    private interface Parser<T> {
+        List<T> parse(CatalogBody body, CatalogParser.BatchListener<T> batches) throws IOException;
+    }
+
+    // How a load talks to the backend
+    private enum Sync {
+        FULL,        // always the whole body
+        DELTA,       // ?since= the saved version when there is one
+        DELTA_ONLY,  // like DELTA, but skip keys never saved (background sync)
+        SAVED        // the saved snapshot only, no request
+    }
+
+    private static final Object PREFETCH_TAG = new Object();
+    private static final Object SYNC_TAG     = new Object();
+
+    private static CatalogRepository instance;
+
+    private final CatalogStore store;
+    private final ApiClient api;
+    // Single thread: the disk read of a load always runs before its network result is applied
+    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    // chain -> (movie key -> movie), replaced whole whenever a chain is (re)loaded
+    private final Map<String, Map<String, Movie>> moviesByChain = new ConcurrentHashMap<>();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final NextShowingsEngine nextShowings = new NextShowingsEngine();
+    // chain -> the movie list load in flight for it; main thread only
+    private final Map<String, SharedLoad<Movie>> sharedMovies = new HashMap<>();
+    // chain -> when its list last finished loading from the network (elapsedRealtime); main thread only
+    private final Map<String, Long> moviesLoadedAt = new HashMap<>();
+
+    public static synchronized CatalogRepository get(Context ctx) {
+        if (instance == null) {
+            instance = new CatalogRepository(ctx.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private CatalogRepository(Context appCtx) {
+        store = CatalogStore.get(appCtx);
+        api   = ApiClient.get(appCtx);
+    }
+
+    /**
+     * Joins the load of {@code chain}'s list, starting it if none is in flight.
+     * Cancel the returned subscription when the caller goes away.
+     */
+    @MainThread
+    public Subscription loadMovies(String chain, Listener<Movie> listener) {
+        return joinMovies(chain, Request.Priority.NORMAL, listener);
+    }
+
+    /** Same as {@link #loadMovies} but queued behind anything a screen is waiting for. */
+    @MainThread
+    public Subscription prefetchMovies(String chain, Listener<Movie> listener) {
+        return joinMovies(chain, Request.Priority.LOW, listener);
+    }
+
+    // A screen may join a low-priority prefetch: it is already queued, and a second
+    // request would be exactly the duplicate this avoids
+    private Subscription joinMovies(String chain, Request.Priority priority,
+                                    Listener<Movie> listener) {
+        SharedLoad<Movie> flight = sharedMovies.get(chain);
+        if (flight == null) {
+            SharedLoad<Movie> started = new SharedLoad<>();
+            sharedMovies.put(chain, started);
+            // the load itself is the Volley tag, so leaving can cancel just this request
+            loadMovies(chain, Sync.DELTA, priority, started, started,
+                    success -> AppExecutors.main(() -> {
+                        sharedMovies.remove(chain, started);
+                        if (success) moviesLoadedAt.put(chain, SystemClock.elapsedRealtime());
+                        started.loaded(success);
+                    }));
+            flight = started;
+        }
+
+        SharedLoad<Movie> joined = flight;
+        joined.add(listener);
+        return () -> {
+            if (joined.remove(listener) && sharedMovies.remove(chain, joined)) {
+                api.cancelAll(joined);
+            }
+        };
+    }
+
+    /**
+     * {@code chain}'s movies if its list came from the network less than
+     * {@code maxAgeMs} ago in this process, otherwise null.
+     */
+    @MainThread
+    @Nullable
+    public Collection<Movie> freshMovies(String chain, long maxAgeMs) {
+        Long at = moviesLoadedAt.get(chain);
+        Map<String, Movie> movies = moviesByChain.get(chain);
+        if (at == null || movies == null || SystemClock.elapsedRealtime() - at > maxAgeMs) return null;
+        return movies.values();
+    }
+
+    private void loadMovies(String chain, Sync sync, Request.Priority priority, Object tag,
+                            Listener<Movie> listener, @Nullable Done done) {
+        // Card view: grid fields only, timings come later per movie
+        this.<Movie>load("movies/" + chain, ApiClient.url("/movies/parent/" + chain + "?view=card"),
+                sync, (body, batches) -> CatalogParser.parseMovies(body, chain, batches),
+                priority, tag,
+                (items, fromCache) -> {
+                    remember(chain, items);
+                    listener.onData(items, fromCache);
+                }, done);
+    }
+
+    /**
+     * Loads {@code chain} with every movie's timings (the full, non-card list) into
+     * {@link #nextShowings()}, then runs {@code onUpdated} on the main thread.
+     * Queued at low priority behind anything a screen is waiting for. Without
+     * {@code network} only the saved snapshot is read.
+     */
+    public void loadShowings(String chain, boolean network, Object tag, Runnable onUpdated) {
+        loadShowings(chain, network ? Sync.DELTA : Sync.SAVED, tag, onUpdated, null);
+    }
+
+    private void loadShowings(String chain, Sync sync, Object tag,
+                              Runnable onUpdated, @Nullable Done done) {
+        this.<Movie>load("showings/" + chain, ApiClient.url("/movies/parent/" + chain),
+                sync, (body, batches) -> CatalogParser.parseMovies(body, chain, batches),
+                Request.Priority.LOW, tag,
+                (items, fromCache) -> AppExecutors.background().execute(() -> {
+                    // parses every Times string once; keep it off the main thread
+                    nextShowings.updateChain(chain, items);
+                    AppExecutors.main(onUpdated);
+                }), done);
+    }
+
+    /**
+     * Brings every movie list already saved on disk up to date through deltas and
+     * blocks until all answered or {@code timeoutMs} passed. Lists never opened are
+     * left alone. Returns false if any request failed, so the caller can retry.
+     */
+    @WorkerThread
+    public boolean syncSaved(long timeoutMs) throws InterruptedException {
+        CountDownLatch pending = new CountDownLatch(CHAINS.length * 2);
+        AtomicBoolean ok = new AtomicBoolean(true);
+        Done done = success -> {
+            if (!success) ok.set(false);
+            pending.countDown();
+        };
+        for (String chain : CHAINS) {
+            loadMovies(chain, Sync.DELTA_ONLY, Request.Priority.LOW, SYNC_TAG,
+                    (items, fromCache) -> { }, done);
+            loadShowings(chain, Sync.DELTA_ONLY, SYNC_TAG, () -> { }, done);
+        }
+        if (!pending.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+            api.cancelAll(SYNC_TAG);
+            return false;
+        }
+        return ok.get();
+    }
+
+    /** Showings, by date, of every chain loaded through {@link #loadShowings}. */
+    public NextShowingsEngine nextShowings() {
+        return nextShowings;
+    }
+
+    /**
+     * Fetches one movie's timings (disk snapshot first) and stores them on
+     * {@code movie.timings}. The endpoint is cacheable for a minute, so a
+     * {@link #prefetchTimings} still in flight is joined by Volley, not repeated.
+     * A {@link LoadListener} is also told when the request is over.
+     */
+    public void loadTimings(Movie movie, Object tag, Listener<Showtime> listener) {
+        loadTimings(movie, Request.Priority.NORMAL, tag, listener);
+    }
+
+    /** Starts fetching timings the user is likely to open (e.g. a card was touched). */
+    public void prefetchTimings(Movie movie) {
+        if (movie.timings != null || movie.id.isEmpty()) return;
+        loadTimings(movie, Request.Priority.LOW, PREFETCH_TAG, (items, fromCache) -> { });
+    }
+
+    private void loadTimings(Movie movie, Request.Priority priority,
+                             Object tag, Listener<Showtime> listener) {
+        Done done = null;
+        if (listener instanceof LoadListener) {
+            LoadListener<Showtime> l = (LoadListener<Showtime>) listener;
+            done = success -> AppExecutors.main(() -> l.onLoaded(success));
+        }
+        this.<Showtime>load("timings/" + movie.id,
+                ApiClient.url("/movies/" + movie.id + "/timings"), Sync.FULL,
+                (body, batches) -> CatalogParser.parseTimings(body),
+                priority, tag,
+                (items, fromCache) -> {
+                    movie.timings = items;
+                    listener.onData(items, fromCache);
+                }, done);
+    }
+
+    /**
+     * Returns the movie with this {@link Movie#key()} if its chain is loaded in this
+     * process, otherwise null (e.g. after process death) and the caller should
+     * {@link #loadMovies} the chain and look again.
+     */
+    @Nullable
+    public Movie findMovie(String key) {
+        int slash = key.indexOf('/');
+        if (slash < 0) return null;
+        Map<String, Movie> chain = moviesByChain.get(key.substring(0, slash));
+        return chain == null ? null : chain.get(key);
+    }
+
+    /** Every movie of every chain loaded so far, already updated when a load calls back. */
+    public SearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    private void remember(String chain, List<Movie> movies) {
+        Map<String, Movie> byKey = new HashMap<>(movies.size() * 2);
+        for (Movie m : movies) byKey.put(m.key(), m);
+        moviesByChain.put(chain, byKey);
+        // Incremental, so a re-delivered list with nothing new costs a map lookup per movie
+        searchIndex.updateChain(chain, movies);
+    }
+
+    public void loadOffers(Object tag, Listener<Offer> listener) {
+        load("offers", ApiClient.url("/offers"),
+                (body, batches) -> CatalogParser.parseOffers(body),
+                Request.Priority.NORMAL, tag, listener);
+    }
+
+    // Signals that the network half of a load is over (false if it failed)
+    private interface Done {
+        void onDone(boolean success);
+    }
+
+    private <T> void load(String key, String url, Parser<T> parser,
+                          Request.Priority priority, Object tag, Listener<T> listener) {
+        load(key, url, Sync.FULL, parser, priority, tag, listener, null);
+    }
+
+    private <T> void load(String key, String url, Sync sync, Parser<T> parser,
+                          Request.Priority priority, Object tag, Listener<T> listener,
+                          @Nullable Done done) {
+        // holds the snapshot body once the disk read is done
+        final CatalogBody[] snapshot = new CatalogBody[1];
+
+        if (sync == Sync.FULL) {
+            // Revalidate in parallel with the disk read (a 304 comes back as the cached body)
+            api.add(request(key, url, false, 0, snapshot, parser, priority, listener, done), tag);
+        }
+
+        String endpoint = Metrics.endpoint(url);
+        long loadStart  = Metrics.now();
+        io.execute(() -> {
+            CatalogStore.Snapshot saved = store.readSnapshot(key);
+            snapshot[0] = saved == null ? null : saved.body;
+
+            if (sync == Sync.SAVED) {
+                if (done != null) done.onDone(true);
+            } else if (sync != Sync.FULL) {
+                // The URL depends on the saved version, so this request waits for the disk read
+                long since = saved == null ? 0 : saved.version;
+                if (since > 0) {
+                    api.add(request(key, MovieDelta.withSince(url, since), true, since,
+                            snapshot, parser, priority, listener, done), tag);
+                } else if (sync == Sync.DELTA) {
+                    api.add(request(key, url, true, 0, snapshot, parser, priority, listener, done), tag);
+                } else if (done != null) {
+                    done.onDone(true);
+                }
+            }
+
+            if (snapshot[0] == null) return;
+            try {
+                List<T> items = parser.parse(snapshot[0], batch -> deliver(listener, batch, true));
+                // load call to the saved copy decoded
+                Metrics.record(Metrics.histogram(endpoint, "disk"), loadStart);
+                deliver(listener, items, true);
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Dropping unreadable snapshot for " + key, e);
+                snapshot[0] = null;
+            }
+        });
+    }
+
+    private <T> CatalogRequest request(String key, String url, boolean versioned, long since,
+                                       CatalogBody[] snapshot,
+                                       Parser<T> parser, Request.Priority priority,
+                                       Listener<T> listener, @Nullable Done done) {
+        String endpoint = Metrics.endpoint(url);
+        long start = Metrics.now();
+        return new CatalogRequest(url, priority,
+                body -> io.execute(() -> {
+                    boolean ok = apply(key, body, versioned, since, snapshot, parser, listener,
+                            endpoint, start);
+                    if (done != null) done.onDone(ok);
+                }),
+                err -> {
+                    Log.w(TAG, "Fetch failed for " + key, err);
+                    if (done != null) done.onDone(false);
+                });
+    }
+
+    // Runs on io. Saves and delivers a response; false if it could not be read.
+    private <T> boolean apply(String key, CatalogBody body, boolean versioned, long since,
+                              CatalogBody[] snapshot, Parser<T> parser, Listener<T> listener,
+                              String endpoint, long start) {
+        if (body.sameAs(snapshot[0])) return true;  // nothing changed since last time
+        try {
+            CatalogBody full = body;
+            long version = 0;
+            if (versioned) {
+                MovieDelta.Header h = MovieDelta.peek(body);
+                version = h.seq;
+                if (h.delta) {
+                    // Merge into what is on disk now; a sync may have moved it on meanwhile
+                    CatalogStore.Snapshot saved = store.readSnapshot(key);
+                    if (saved == null || saved.version != since) return true;
+                    if (saved.body.isBinary() != body.isBinary()) {
+                        // The backend switched formats; drop the version so the next load is full
+                        store.write(key, saved.body, 0);
+                        return true;
+                    }
+                    if (MovieDelta.isEmpty(body)) {
+                        store.write(key, saved.body, version);
+                        return true;
+                    }
+                    long t = Metrics.begin("merge " + endpoint);
+                    full = MovieDelta.merge(saved.body, body);
+                    Metrics.end(Metrics.histogram(endpoint, "merge"), t);
+                }
+            }
+            // Only stream partial lists when the screen has nothing to show yet
+            CatalogParser.BatchListener<T> batches = snapshot[0] == null
+                    ? batch -> deliver(listener, batch, false)
+                    : null;
+            long t = Metrics.begin("parse " + endpoint);
+            List<T> items = parser.parse(full, batches);
+            Metrics.end(Metrics.histogram(endpoint, "parse"), t);
+            store.write(key, full, version);
+            snapshot[0] = full;
+            deliver(listener, items, endpoint, start);
+            return true;
+        } catch (IOException | JSONException | RuntimeException e) {
+            Log.e(TAG, "Bad response for " + key, e);
+            return false;
+        }
+    }
+
+    private <T> void deliver(Listener<T> listener, List<T> items, boolean fromCache) {
+        AppExecutors.main(() -> listener.onData(items, fromCache));
+    }
+
+    // Network result: also times the hop to the main thread and the whole load
+    private <T> void deliver(Listener<T> listener, List<T> items, String endpoint, long start) {
+        Histogram wait  = Metrics.histogram(endpoint, "deliver");
+        Histogram total = Metrics.histogram(endpoint, "total");
+        long posted = Metrics.now();
+        AppExecutors.main(() -> {
+            Metrics.record(wait, posted);
+            listener.onData(items, false);
+            Metrics.record(total, start);
+        });
+    }
+}
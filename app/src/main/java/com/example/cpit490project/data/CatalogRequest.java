@@ -0,0 +1,62 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogRequest.java
+package com.example.cpit490project.data;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * GET for a catalog endpoint. Asks for the binary encoding and keeps JSON as
+ * the fallback, so a backend that does not know the format still works.
+ */
+class CatalogRequest extends Request<CatalogBody> {
+    private static final Map<String, String> HEADERS = Collections.singletonMap(
+            "Accept", CatalogBinary.MEDIA_TYPE + ", application/json;q=0.5");
+
+    private final Response.Listener<CatalogBody> listener;
+    private final Priority priority;
+
+    CatalogRequest(String url, Priority priority,
+                   Response.Listener<CatalogBody> listener, Response.ErrorListener errorListener) {
+        super(Method.GET, url, errorListener);
+        this.listener = listener;
+        this.priority = priority;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return HEADERS;
+    }
+
+    @Override
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    protected Response<CatalogBody> parseNetworkResponse(NetworkResponse response) {
+        CatalogBody body;
+        String type = response.headers == null ? null : response.headers.get("Content-Type");
+        if (type != null && type.startsWith(CatalogBinary.MEDIA_TYPE)) {
+            body = CatalogBody.binary(response.data);
+        } else {
+            try {
+                body = CatalogBody.json(new String(response.data,
+                        HttpHeaderParser.parseCharset(response.headers, "UTF-8")));
+            } catch (UnsupportedEncodingException e) {
+                body = CatalogBody.json(new String(response.data));
+            }
+        }
+        return Response.success(body, HttpHeaderParser.parseCacheHeaders(response));
+    }
+
+    @Override
+    protected void deliverResponse(CatalogBody response) {
+        listener.onResponse(response);
+    }
+}
@@ -0,0 +1,208 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogStore.java
+package com.example.cpit490project.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local SQLite copy of the last catalog responses we got from the backend.
+ * One row per key ("offers", "movies/vox", ...) holding the raw response body,
+ * so a screen can render straight from disk before the network answers.
+ * Bodies are kept as they came: JSON as TEXT, the binary encoding as a BLOB.
+ * Movie lists also keep the backend's catalog version, so the next refresh
+ * only has to ask for what changed after it.
+ *
+ * A cursor row has to fit in one 2 MB CursorWindow, so bodies over
+ * {@link #INLINE_MAX} bytes go to a file under files/catalog/ and the row keeps
+ * only its name. Each write gets a new file and the old one is deleted after
+ * the row moves on, so a row never points at a half-written body.
+ */
+public class CatalogStore extends SQLiteOpenHelper {
+    private static final String TAG        = "CatalogStore";
+    private static final String DB_NAME    = "catalog.db";
+    private static final int    DB_VERSION = 4;
+
+    private static final String TABLE      = "snapshots";
+    private static final String COL_KEY    = "key";
+    private static final String COL_BODY   = "body";
+    private static final String COL_TIME   = "fetched_at";
+    private static final String COL_VER    = "version";
+    private static final String COL_FILE   = "file";    // set when the body is not inline
+    private static final String COL_BIN    = "binary";  // format of a file body
+
+    private static final String DIR        = "catalog";
+    private static final int    INLINE_MAX = 1 << 20;
+
+    /** A stored body and the catalog version it is at (0 if unversioned). */
+    public static class Snapshot {
+        public final CatalogBody body;
+        public final long version;
+
+        Snapshot(CatalogBody body, long version) {
+            this.body    = body;
+            this.version = version;
+        }
+    }
+
+    private static CatalogStore instance;
+
+    public static synchronized CatalogStore get(Context ctx) {
+        if (instance == null) {
+            instance = new CatalogStore(ctx.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final File dir;
+
+    private CatalogStore(Context ctx) {
+        super(ctx, DB_NAME, null, DB_VERSION);
+        dir = new File(ctx.getFilesDir(), DIR);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COL_KEY  + " TEXT PRIMARY KEY, "
+                + COL_BODY + " BLOB, "
+                + COL_FILE + " TEXT, "
+                + COL_BIN  + " INTEGER NOT NULL DEFAULT 0, "
+                + COL_TIME + " INTEGER NOT NULL, "
+                + COL_VER  + " INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Only a cache: drop it and let the next fetch refill it
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        onCreate(db);
+    }
+
+    /** Returns the stored body for this key, or null if we never saved one. */
+    @Nullable
+    public CatalogBody read(String key) {
+        Snapshot s = readSnapshot(key);
+        return s == null ? null : s.body;
+    }
+
+    /** Same as {@link #read} but with the version the body was saved at. */
+    @Nullable
+    public Snapshot readSnapshot(String key) {
+        String file;
+        boolean binary;
+        long version;
+        try (Cursor c = getReadableDatabase().query(
+                TABLE, new String[]{COL_BODY, COL_FILE, COL_BIN, COL_VER},
+                COL_KEY + " = ?", new String[]{key},
+                null, null, null)) {
+            if (!c.moveToFirst()) return null;
+            version = c.getLong(3);
+            if (c.isNull(1)) {
+                CatalogBody body = c.getType(0) == Cursor.FIELD_TYPE_BLOB
+                        ? CatalogBody.binary(c.getBlob(0))
+                        : CatalogBody.json(c.getString(0));
+                return new Snapshot(body, version);
+            }
+            file   = c.getString(1);
+            binary = c.getInt(2) != 0;
+        }
+        try {
+            byte[] bytes = readFile(new File(dir, file));
+            return new Snapshot(binary ? CatalogBody.binary(bytes)
+                                       : CatalogBody.json(new String(bytes, StandardCharsets.UTF_8)), version);
+        } catch (IOException e) {
+            // replaced or lost under us: a miss, the next fetch saves it again
+            Log.w(TAG, "Could not read " + file, e);
+            return null;
+        }
+    }
+
+    public void write(String key, CatalogBody body) {
+        write(key, body, 0);
+    }
+
+    public void write(String key, CatalogBody body, long version) {
+        byte[] bytes = body.isBinary() ? body.binary : body.json.getBytes(StandardCharsets.UTF_8);
+        ContentValues v = new ContentValues();
+        v.put(COL_KEY,  key);
+        v.put(COL_BIN,  body.isBinary() ? 1 : 0);
+        v.put(COL_TIME, System.currentTimeMillis());
+        v.put(COL_VER,  version);
+        if (bytes.length <= INLINE_MAX) {
+            if (body.isBinary()) v.put(COL_BODY, body.binary);
+            else v.put(COL_BODY, body.json);
+            v.putNull(COL_FILE);
+        } else {
+            File f;
+            try {
+                f = writeFile(key, bytes);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not save " + key, e);
+                return;
+            }
+            v.putNull(COL_BODY);
+            v.put(COL_FILE, f.getName());
+        }
+
+        SQLiteDatabase db = getWritableDatabase();
+        String old;
+        db.beginTransaction();
+        try {
+            old = fileOf(db, key);
+            db.insertWithOnConflict(TABLE, null, v, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (old != null && !old.equals(v.getAsString(COL_FILE))) new File(dir, old).delete();
+    }
+
+    @Nullable
+    private static String fileOf(SQLiteDatabase db, String key) {
+        try (Cursor c = db.query(TABLE, new String[]{COL_FILE},
+                COL_KEY + " = ?", new String[]{key}, null, null, null)) {
+            return c.moveToFirst() && !c.isNull(0) ? c.getString(0) : null;
+        }
+    }
+
+    // A new file per write, named after the key, written in full before any row names it
+    private File writeFile(String key, byte[] bytes) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Could not create " + dir);
+        File f = File.createTempFile(key.replaceAll("[^A-Za-z0-9]", "_") + "-", ".body", dir);
+        try (FileOutputStream os = new FileOutputStream(f)) {
+            os.write(bytes);
+            os.getFD().sync();
+        } catch (IOException e) {
+            f.delete();
+            throw e;
+        }
+        return f;
+    }
+
+    private static byte[] readFile(File f) throws IOException {
+        try (FileInputStream in = new FileInputStream(f)) {
+            byte[] bytes = new byte[(int) f.length()];
+            int n = 0;
+            while (n < bytes.length) {
+                int r = in.read(bytes, n, bytes.length - n);
+                if (r < 0) throw new IOException("Truncated " + f);
+                n += r;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// app/src/main/java/com/example/cpit490project/data/CatalogSyncWorker.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic background refresh of the saved movie lists. Uses the delta
+ * protocol only, so a run usually costs a few small requests; lists the user
+ * never opened are not downloaded here.
+ */
+public class CatalogSyncWorker extends Worker {
+    private static final String TAG       = "CatalogSyncWorker";
+    private static final String WORK_NAME = "catalog-sync";
+
+    private static final long INTERVAL_HOURS = 1;
+    private static final long TIMEOUT_MS     = 60_000;
+
+    public CatalogSyncWorker(@NonNull Context ctx, @NonNull WorkerParameters params) {
+        super(ctx, params);
+    }
+
+    /** Safe to call on every launch; an already scheduled sync is kept. */
+    public static void schedule(Context ctx) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        PeriodicWorkRequest req = new PeriodicWorkRequest.Builder(
+                CatalogSyncWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 1, TimeUnit.MINUTES)
+                .build();
+        WorkManager.getInstance(ctx).enqueueUniquePeriodicWork(
+                WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, req);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            boolean ok = CatalogRepository.get(getApplicationContext()).syncSaved(TIMEOUT_MS);
+            return ok ? Result.success() : Result.retry();
+        } catch (InterruptedException e) {
+            Log.w(TAG, "Sync interrupted", e);
+            return Result.retry();
+        }
+    }
+}
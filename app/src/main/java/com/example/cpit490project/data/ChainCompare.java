@@ -0,0 +1,300 @@
+// app/src/main/java/com/example/cpit490project/data/ChainCompare.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import com.example.cpit490project.metrics.Histogram;
+import com.example.cpit490project.metrics.Metrics;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Showtime;
+import com.example.cpit490project.search.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * One film's showtimes at every chain, merged into a single list of rows for
+ * the detail screen's city/date chips.
+ *
+ * All chains are asked at once: each chain's movie list (saved copy first, then
+ * the network, joining any load already in flight), then the timings of its
+ * movie with the same {@link #matchKey}. Every answer is merged and handed to
+ * the listener straight away, so the view fills in chain by chain and a slow
+ * chain never holds up the others. A chain list that came from the network
+ * within {@link #FRESH_MS} is used as it is.
+ *
+ * At the deadline anything still out is cancelled. A chain that has only
+ * answered from its saved copy by then keeps those rows, marked {@link Status#SAVED}.
+ */
+@MainThread
+public final class ChainCompare {
+    public static final long FRESH_MS = 2 * 60_000;
+
+    private static final Pattern YEAR = Pattern.compile("\\s*\\(\\s*(19|20)\\d\\d\\s*\\)\\s*$");
+
+    private static final Histogram SETTLED = Metrics.histogram("ChainCompare", "settled");
+
+    public enum Status {
+        LOADING,
+        SAVED,        // rows from the saved copy; the network has not confirmed them
+        DONE,
+        NOT_PLAYING,
+        NO_ANSWER     // failed, or nothing by the deadline
+    }
+
+    public interface Listener {
+        /**
+         * {@code rows} has every chain's rows so far, {@code status} every chain in
+         * {@link CatalogRepository#CHAINS} order. {@code done} is set on the last call.
+         */
+        void onUpdate(List<Showtime> rows, Map<String, Status> status, boolean done);
+    }
+
+    /** A merged row; the place is prefixed with the chain so rows stay apart. */
+    public static final class Row extends Showtime {
+        public final String chain;
+        public final Movie movie;  // that chain's copy, for its booking page
+
+        Row(String chain, Movie movie, Showtime s) {
+            super(s.date, s.city, label(chain) + " · " + s.place, s.experience, s.times);
+            this.chain = chain;
+            this.movie = movie;
+        }
+    }
+
+    private final CatalogRepository repo;
+    private final ApiClient api;
+    private final Movie origin;
+    private final String key;
+    private final Listener listener;
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final Map<String, Chain> chains = new LinkedHashMap<>();
+    private final long start = Metrics.now();
+    private boolean finished;
+
+    // One chain's progress; also the Volley tag of its timings request
+    private final class Chain implements CatalogRepository.LoadListener<Movie> {
+        final String name;
+        Status status = Status.LOADING;
+        boolean settled;
+        List<Row> rows = Collections.emptyList();
+        @Nullable CatalogRepository.Subscription list;
+        @Nullable Movie match;
+        @Nullable String timingsFor;  // id whose timings were asked for
+
+        Chain(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onData(List<Movie> movies, boolean fromCache) {
+            onMovies(this, movies);
+        }
+
+        @Override
+        public void onLoaded(boolean success) {
+            onMoviesLoaded(this, success);
+        }
+    }
+
+    private ChainCompare(Context ctx, Movie origin, Listener listener) {
+        this.repo     = CatalogRepository.get(ctx);
+        this.api      = ApiClient.get(ctx);
+        this.origin   = origin;
+        this.key      = matchKey(origin.title);
+        this.listener = listener;
+    }
+
+    /**
+     * Starts comparing {@code origin} (a movie of {@code originChain}) across every
+     * chain; the listener hears the last of it no later than {@code deadlineMs} from now.
+     */
+    public static ChainCompare start(Context ctx, Movie origin, String originChain,
+                                     long deadlineMs, Listener listener) {
+        ChainCompare c = new ChainCompare(ctx, origin, listener);
+        c.run(originChain, deadlineMs);
+        return c;
+    }
+
+    /** Stops everything still in flight; the listener is not called again. */
+    public void cancel() {
+        if (finished) return;
+        finished = true;
+        stopAll();
+    }
+
+    private void run(String originChain, long deadlineMs) {
+        for (String name : CatalogRepository.CHAINS) chains.put(name, new Chain(name));
+        main.postDelayed(this::expire, deadlineMs);
+
+        for (Chain c : chains.values()) {
+            if (c.name.equals(originChain)) {
+                // already open on screen; no list to search
+                useMatch(c, origin);
+                continue;
+            }
+            Collection<Movie> fresh = repo.freshMovies(c.name, FRESH_MS);
+            if (fresh != null) {
+                onMovies(c, fresh);
+                onMoviesLoaded(c, true);
+            } else {
+                c.list = repo.loadMovies(c.name, c);
+            }
+        }
+        publish();
+    }
+
+    // Saved copy, growing partial lists and the network copy all come through here
+    private void onMovies(Chain c, Collection<Movie> movies) {
+        if (finished || c.settled) return;
+        Movie found = find(movies);
+        if (found != null) useMatch(c, found);
+    }
+
+    private void onMoviesLoaded(Chain c, boolean success) {
+        if (finished || c.settled) return;
+        if (success && c.match == null) {
+            // the whole network list is in and the film is not in it
+            settle(c, Status.NOT_PLAYING);
+        } else if (!success && c.timingsFor == null) {
+            settle(c, Status.NO_ANSWER);
+        }
+    }
+
+    private void useMatch(Chain c, Movie m) {
+        c.match = m;
+        if (m.timings != null) {
+            setRows(c, m, m.timings);
+            settle(c, Status.DONE);
+            return;
+        }
+        if (m.id.equals(c.timingsFor)) return;  // the same film from a newer list
+        c.timingsFor = m.id;
+        repo.loadTimings(m, c, new CatalogRepository.LoadListener<Showtime>() {
+            @Override
+            public void onData(List<Showtime> items, boolean fromCache) {
+                if (finished || c.settled || !m.id.equals(c.timingsFor)) return;
+                setRows(c, m, items);
+                if (fromCache) {
+                    c.status = Status.SAVED;
+                    publish();
+                } else {
+                    settle(c, Status.DONE);
+                }
+            }
+
+            @Override
+            public void onLoaded(boolean success) {
+                if (finished || c.settled || !m.id.equals(c.timingsFor)) return;
+                // success with no new data: the saved rows are current
+                settle(c, success ? Status.DONE : c.rows.isEmpty() ? Status.NO_ANSWER : Status.SAVED);
+            }
+        });
+    }
+
+    private void setRows(Chain c, Movie m, List<Showtime> timings) {
+        List<Row> rows = new ArrayList<>(timings.size());
+        for (Showtime s : timings) rows.add(new Row(c.name, m, s));
+        c.rows = rows;
+    }
+
+    private void settle(Chain c, Status status) {
+        c.status  = status;
+        c.settled = true;
+        if (c.list != null) {
+            c.list.cancel();
+            c.list = null;
+        }
+        for (Chain other : chains.values()) {
+            if (!other.settled) {
+                publish();
+                return;
+            }
+        }
+        finish();
+    }
+
+    private void expire() {
+        if (finished) return;
+        for (Chain c : chains.values()) {
+            if (c.settled) continue;
+            c.status  = c.rows.isEmpty() ? Status.NO_ANSWER : Status.SAVED;
+            c.settled = true;
+        }
+        finish();
+    }
+
+    private void finish() {
+        finished = true;
+        stopAll();
+        Metrics.record(SETTLED, start);
+        listener.onUpdate(merged(), statuses(), true);
+    }
+
+    private void stopAll() {
+        main.removeCallbacksAndMessages(null);
+        for (Chain c : chains.values()) {
+            if (c.list != null) c.list.cancel();
+            c.list = null;
+            api.cancelAll(c);
+        }
+    }
+
+    private void publish() {
+        if (!finished) listener.onUpdate(merged(), statuses(), false);
+    }
+
+    private List<Showtime> merged() {
+        List<Showtime> all = new ArrayList<>();
+        for (Chain c : chains.values()) all.addAll(c.rows);
+        return all;
+    }
+
+    private Map<String, Status> statuses() {
+        Map<String, Status> out = new LinkedHashMap<>();
+        for (Chain c : chains.values()) out.put(c.name, c.status);
+        return out;
+    }
+
+    // Same title; the origin's language wins when a chain has both a dubbed and an original copy
+    @Nullable
+    private Movie find(Collection<Movie> movies) {
+        Movie any = null;
+        for (Movie m : movies) {
+            if (!key.equals(matchKey(m.title))) continue;
+            if (m.language != null && m.language.equals(origin.language)) return m;
+            if (any == null) any = m;
+        }
+        return any;
+    }
+
+    /**
+     * Chains spell titles differently: case, accents, punctuation and a year in
+     * brackets at the end are ignored, so "Heat (2025)" and "HEAT" match.
+     */
+    static String matchKey(@Nullable String title) {
+        String t = title == null ? "" : YEAR.matcher(title).replaceFirst("");
+        return SearchIndex.normalizedTitle(t);
+    }
+
+    /** Display name of a chain id. */
+    public static String label(String chain) {
+        switch (chain) {
+            case "vox":    return "VOX";
+            case "amc":    return "AMC";
+            case "muvi":   return "Muvi";
+            case "empire": return "Empire";
+            default:       return chain;
+        }
+    }
+}
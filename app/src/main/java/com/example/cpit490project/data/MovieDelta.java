@@ -0,0 +1,140 @@
+// app/src/main/java/com/example/cpit490project/data/MovieDelta.java
+package com.example.cpit490project.data;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for the versioned /movies/parent/{chain} lists.
+ *
+ * A full list is {@code {"seq": n, "count": c, "movies": [...]}}. With
+ * {@code ?since=n} the backend answers
+ * {@code {"seq": m, "since": n, "delta": true, "movies": [changed], "deleted": [ids]}}
+ * (or a full list if it no longer knows version n), and {@link #merge} folds
+ * that into the saved body so the rest of the app only ever sees full lists.
+ * The {@link CatalogBody} overloads do the same for the binary encoding.
+ */
+final class MovieDelta {
+    /** The scalar fields in front of the movie array. */
+    static final class Header {
+        long seq;
+        boolean delta;
+    }
+
+    private MovieDelta() {}
+
+    /** Appends {@code since=version} to a list URL. */
+    static String withSince(String url, long version) {
+        return url + (url.indexOf('?') < 0 ? '?' : '&') + "since=" + version;
+    }
+
+    static Header peek(CatalogBody body) throws IOException {
+        return body.isBinary() ? CatalogBinary.peek(body.binary) : peek(body.json);
+    }
+
+    static boolean isEmpty(CatalogBody delta) throws IOException, JSONException {
+        if (!delta.isBinary()) return isEmpty(delta.json);
+        CatalogBinary.MovieList d = CatalogBinary.readMovies(delta.binary, "", null);
+        return d.movies.isEmpty() && d.deleted.isEmpty();
+    }
+
+    /** Both bodies must be in the same format. */
+    static CatalogBody merge(CatalogBody base, CatalogBody delta) throws IOException, JSONException {
+        if (base.isBinary() != delta.isBinary()) {
+            throw new IllegalArgumentException("Cannot merge a delta into a body of another format");
+        }
+        return delta.isBinary()
+                ? CatalogBody.binary(CatalogBinary.merge(base.binary, delta.binary))
+                : CatalogBody.json(merge(base.json, delta.json));
+    }
+
+    /**
+     * Reads the version fields without touching the movies: the backend sends
+     * them first, so this stops after a few tokens.
+     */
+    static Header peek(String body) throws IOException {
+        Header h = new Header();
+        try (JsonReader r = new JsonReader(new StringReader(body))) {
+            r.beginObject();
+            while (r.hasNext()) {
+                String name = r.nextName();
+                JsonToken t = r.peek();
+                if (t == JsonToken.BEGIN_ARRAY || t == JsonToken.BEGIN_OBJECT) break;
+                switch (name) {
+                    case "seq":   h.seq   = r.nextLong();    break;
+                    case "delta": h.delta = r.nextBoolean(); break;
+                    default:      r.skipValue();             break;
+                }
+            }
+        }
+        return h;
+    }
+
+    /** True when a delta body carries no upserts and no tombstones. */
+    static boolean isEmpty(String delta) throws JSONException {
+        JSONObject d = new JSONObject(delta);
+        JSONArray movies  = d.optJSONArray("movies");
+        JSONArray deleted = d.optJSONArray("deleted");
+        return (movies == null || movies.length() == 0) && (deleted == null || deleted.length() == 0);
+    }
+
+    /**
+     * Applies {@code delta} to the full list {@code base}: changed movies replace
+     * the old entry in place, new ones go at the end, deleted ones are dropped.
+     */
+    static String merge(String base, String delta) throws JSONException {
+        JSONObject b = new JSONObject(base);
+        JSONObject d = new JSONObject(delta);
+
+        Map<String, JSONObject> byId = new LinkedHashMap<>();
+        JSONArray old = b.optJSONArray("movies");
+        if (old != null) {
+            for (int i = 0; i < old.length(); i++) {
+                JSONObject m = old.getJSONObject(i);
+                byId.put(idOf(m), m);
+            }
+        }
+
+        JSONArray changed = d.optJSONArray("movies");
+        if (changed != null) {
+            for (int i = 0; i < changed.length(); i++) {
+                JSONObject m = changed.getJSONObject(i);
+                byId.put(idOf(m), m);  // keeps the old position if it was there
+            }
+        }
+
+        Set<String> deleted = new HashSet<>();
+        JSONArray gone = d.optJSONArray("deleted");
+        if (gone != null) {
+            for (int i = 0; i < gone.length(); i++) deleted.add(gone.getString(i));
+        }
+
+        JSONArray movies = new JSONArray();
+        for (Map.Entry<String, JSONObject> e : byId.entrySet()) {
+            if (!deleted.contains(e.getKey())) movies.put(e.getValue());
+        }
+
+        JSONObject out = new JSONObject();
+        out.put("seq", d.getLong("seq"));
+        out.put("count", movies.length());
+        out.put("movies", movies);
+        return out.toString();
+    }
+
+    // Same rule as CatalogParser: a plain string, or extended JSON {"$oid": "..."}
+    private static String idOf(JSONObject movie) {
+        JSONObject oid = movie.optJSONObject("_id");
+        return oid != null ? oid.optString("$oid") : movie.optString("_id");
+    }
+}
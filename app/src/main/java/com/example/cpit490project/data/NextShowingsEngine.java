@@ -0,0 +1,225 @@
+// app/src/main/java/com/example/cpit490project/data/NextShowingsEngine.java
+package com.example.cpit490project.data;
+
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Showtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * "What starts next in city C" over every chain's timings.
+ *
+ * Times strings are parsed once, when a chain is added, into sorted
+ * minutes-since-midnight arrays per (date, movie, place, experience). A query
+ * for one cinema day ({@link #cinemaDay}) binary-searches each array of the
+ * city and k-way merges them, so answering never touches a string. A movie
+ * with no showing on that day is simply not in it, whatever date its list
+ * starts with.
+ *
+ * Times before {@link #DAY_START} belong to the previous evening's late
+ * shows and are stored past 24:00 (01:30 -> 25:30).
+ */
+public class NextShowingsEngine {
+    /** Minutes since midnight at which a cinema day starts (05:00). */
+    static final int DAY_START = 5 * 60;
+
+    /** One showing returned by {@link #next}. */
+    public static class Showing {
+        public final Movie movie;
+        public final String place;
+        public final String experience;
+        public final int minute;
+
+        Showing(Series s, int minute) {
+            this.movie      = s.movie;
+            this.place      = s.place;
+            this.experience = s.experience;
+            this.minute     = minute;
+        }
+
+        /** 24-hour "HH:mm" of {@link #minute}. */
+        public String time() {
+            int m = minute % (24 * 60);
+            return String.format(Locale.US, "%02d:%02d", m / 60, m % 60);
+        }
+
+        /** One slot: the movie's id-based key plus place, experience and start minute. */
+        public String key() {
+            return movie.key() + "/" + place + "/" + experience + "/" + minute;
+        }
+    }
+
+    // Every showing of one movie at one place and experience, on one date
+    private static class Series {
+        final Movie movie;
+        final String place;
+        final String experience;
+        final int[] minutes;  // ascending
+
+        Series(Movie movie, String place, String experience, int[] minutes) {
+            this.movie      = movie;
+            this.place      = place;
+            this.experience = experience;
+            this.minutes    = minutes;
+        }
+    }
+
+    // chain -> date ("yyyy-MM-dd") -> city -> series; a chain is replaced whole on update
+    private final Map<String, Map<String, Map<String, List<Series>>>> byChain = new HashMap<>();
+
+    /** Replaces everything known about {@code chain}. Parses strings; call off the UI thread. */
+    public void updateChain(String chain, List<Movie> movies) {
+        Map<String, Map<String, List<Series>>> byDate = new HashMap<>();
+        for (Movie m : movies) {
+            if (m.timings == null) continue;
+            for (Showtime s : m.timings) {
+                if (s.times == null) continue;
+                int[] minutes = parseAll(s.times);
+                if (minutes.length == 0) continue;
+                Map<String, List<Series>> byCity = byDate.get(s.date);
+                if (byCity == null) {
+                    byCity = new HashMap<>();
+                    byDate.put(s.date, byCity);
+                }
+                List<Series> list = byCity.get(s.city);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byCity.put(s.city, list);
+                }
+                list.add(new Series(m, s.place, s.experience, minutes));
+            }
+        }
+        synchronized (this) {
+            byChain.put(chain, byDate);
+        }
+    }
+
+    /** Every city with at least one showing on {@code day}, sorted. */
+    public synchronized List<String> cities(String day) {
+        TreeSet<String> out = new TreeSet<>();
+        for (Map<String, Map<String, List<Series>>> byDate : byChain.values()) {
+            Map<String, List<Series>> byCity = byDate.get(day);
+            if (byCity != null) out.addAll(byCity.keySet());
+        }
+        return new ArrayList<>(out);
+    }
+
+    /**
+     * Up to {@code limit} showings on {@code day} in {@code city} starting at or
+     * after {@code fromMinute} and before {@code untilMinute}, earliest first.
+     */
+    public synchronized List<Showing> next(String day, String city, int fromMinute, int untilMinute,
+                                           int limit) {
+        // one cursor per series, positioned at its first showing >= fromMinute
+        PriorityQueue<int[]> heap = new PriorityQueue<>(
+                (a, b) -> Integer.compare(a[0], b[0]));  // {minute, series index, position}
+        List<Series> all = new ArrayList<>();
+        for (Map<String, Map<String, List<Series>>> byDate : byChain.values()) {
+            Map<String, List<Series>> byCity = byDate.get(day);
+            List<Series> list = byCity == null ? null : byCity.get(city);
+            if (list == null) continue;
+            for (Series s : list) {
+                int pos = lowerBound(s.minutes, fromMinute);
+                if (pos < s.minutes.length && s.minutes[pos] < untilMinute) {
+                    heap.add(new int[]{s.minutes[pos], all.size(), pos});
+                }
+                all.add(s);
+            }
+        }
+
+        List<Showing> out = new ArrayList<>(Math.min(limit, heap.size() * 2));
+        while (!heap.isEmpty() && out.size() < limit) {
+            int[] top = heap.poll();
+            Series s = all.get(top[1]);
+            out.add(new Showing(s, top[0]));
+            int pos = top[2] + 1;
+            if (pos < s.minutes.length && s.minutes[pos] < untilMinute) {
+                top[0] = s.minutes[pos];
+                top[2] = pos;
+                heap.add(top);
+            }
+        }
+        return out.isEmpty() ? Collections.emptyList() : out;
+    }
+
+    /**
+     * The cinema day at {@code now} in the timings' "yyyy-MM-dd" format; before
+     * {@link #DAY_START} it is still the previous day. (java.time needs API 26.)
+     */
+    public static String cinemaDay(Calendar now) {
+        Calendar c = (Calendar) now.clone();
+        c.add(Calendar.MINUTE, -DAY_START);
+        return String.format(Locale.US, "%04d-%02d-%02d",
+                c.get(Calendar.YEAR), c.get(Calendar.MONTH) + 1, c.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /** {@code hour * 60 + minute} of a cinema-day clock, for {@link #next}. */
+    public static int cinemaMinute(int hour, int minute) {
+        int m = hour * 60 + minute;
+        return m < DAY_START ? m + 24 * 60 : m;
+    }
+
+    private static int lowerBound(int[] a, int key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int[] parseAll(List<String> times) {
+        int[] out = new int[times.size()];
+        int n = 0;
+        for (String t : times) {
+            int m = parseTime(t);
+            if (m >= 0) out[n++] = m;
+        }
+        out = Arrays.copyOf(out, n);
+        Arrays.sort(out);
+        return out;
+    }
+
+    /**
+     * Minutes of the cinema day for "21:15", "9:15 PM", "9:15pm" or "09:15 am";
+     * -1 if the string is not a time.
+     */
+    static int parseTime(String s) {
+        int i = 0, len = s.length();
+        while (i < len && s.charAt(i) == ' ') i++;
+        int hour = 0, digits = 0;
+        while (i < len && Character.isDigit(s.charAt(i))) {
+            hour = hour * 10 + (s.charAt(i++) - '0');
+            digits++;
+        }
+        if (digits == 0 || digits > 2 || i >= len || s.charAt(i) != ':') return -1;
+        i++;
+        int minute = 0;
+        digits = 0;
+        while (i < len && Character.isDigit(s.charAt(i))) {
+            minute = minute * 10 + (s.charAt(i++) - '0');
+            digits++;
+        }
+        if (digits != 2 || minute > 59) return -1;
+        while (i < len && s.charAt(i) == ' ') i++;
+        if (i < len) {
+            char c = Character.toLowerCase(s.charAt(i));
+            if (c != 'a' && c != 'p') return -1;
+            if (hour < 1 || hour > 12) return -1;
+            hour = hour % 12 + (c == 'p' ? 12 : 0);
+        } else if (hour > 23) {
+            return -1;
+        }
+        return cinemaMinute(hour, minute);
+    }
+}
@@ -0,0 +1,55 @@
+// app/src/main/java/com/example/cpit490project/data/SharedLoad.java
+package com.example.cpit490project.data;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import com.example.cpit490project.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One load fanned out to every caller waiting for the same key. A caller who
+ * joins late gets the newest list straight away, then follows along like the
+ * rest. Main thread only, like the callbacks it forwards.
+ */
+@MainThread
+final class SharedLoad<T> implements CatalogRepository.Listener<T> {
+    private final List<CatalogRepository.Listener<T>> listeners = new ArrayList<>();
+    @Nullable private List<T> last;
+    private boolean lastFromCache;
+
+    void add(CatalogRepository.Listener<T> listener) {
+        listeners.add(listener);
+        if (last == null) return;
+        List<T> items = last;
+        boolean fromCache = lastFromCache;
+        // still asynchronous, like a load that had to wait for the disk
+        AppExecutors.main(() -> {
+            if (listeners.contains(listener)) listener.onData(items, fromCache);
+        });
+    }
+
+    /** Returns true once nobody is left. */
+    boolean remove(CatalogRepository.Listener<T> listener) {
+        listeners.remove(listener);
+        return listeners.isEmpty();
+    }
+
+    @Override
+    public void onData(List<T> items, boolean fromCache) {
+        last          = items;
+        lastFromCache = fromCache;
+        for (CatalogRepository.Listener<T> l : new ArrayList<>(listeners)) l.onData(items, fromCache);
+    }
+
+    /** The network half is over; tells the callers that asked to hear it. */
+    void loaded(boolean success) {
+        for (CatalogRepository.Listener<T> l : new ArrayList<>(listeners)) {
+            if (l instanceof CatalogRepository.LoadListener) {
+                ((CatalogRepository.LoadListener<T>) l).onLoaded(success);
+            }
+        }
+    }
+}
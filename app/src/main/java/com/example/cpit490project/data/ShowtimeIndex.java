@@ -0,0 +1,65 @@
+// app/src/main/java/com/example/cpit490project/data/ShowtimeIndex.java
+package com.example.cpit490project.data;
+
+import com.example.cpit490project.models.Showtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * City -> date -> showtimes, built once per movie so the detail chips
+ * are plain map lookups. Cities and dates keep the order they appear in
+ * the timings (the backend sends dates in calendar order).
+ */
+public class ShowtimeIndex {
+    private final Map<String, City> byCity = new LinkedHashMap<>();
+    private final List<String> cities;
+
+    private static class City {
+        final Map<String, List<Showtime>> byDate = new LinkedHashMap<>();
+        List<String> dates;
+    }
+
+    private ShowtimeIndex(List<Showtime> timings) {
+        for (Showtime s : timings) {
+            City c = byCity.get(s.city);
+            if (c == null) {
+                c = new City();
+                byCity.put(s.city, c);
+            }
+            List<Showtime> shows = c.byDate.get(s.date);
+            if (shows == null) {
+                shows = new ArrayList<>();
+                c.byDate.put(s.date, shows);
+            }
+            shows.add(s);
+        }
+        for (City c : byCity.values()) {
+            c.dates = Collections.unmodifiableList(new ArrayList<>(c.byDate.keySet()));
+        }
+        cities = Collections.unmodifiableList(new ArrayList<>(byCity.keySet()));
+    }
+
+    /** Walks the timings once; call off the UI thread for large movies. */
+    public static ShowtimeIndex build(List<Showtime> timings) {
+        return new ShowtimeIndex(timings);
+    }
+
+    public List<String> cities() {
+        return cities;
+    }
+
+    public List<String> dates(String city) {
+        City c = byCity.get(city);
+        return c == null ? Collections.emptyList() : c.dates;
+    }
+
+    public List<Showtime> showtimes(String city, String date) {
+        City c = byCity.get(city);
+        List<Showtime> shows = c == null ? null : c.byDate.get(date);
+        return shows == null ? Collections.emptyList() : Collections.unmodifiableList(shows);
+    }
+}
@@ -0,0 +1,150 @@
+// app/src/main/java/com/example/cpit490project/data/WatchHistoryWorker.java
+package com.example.cpit490project.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.JsonObjectRequest;
+import com.android.volley.toolbox.RequestFuture;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the {@link WatchJournal} to POST /api/users/watch-history/batch, up to
+ * {@link #BATCH_SIZE} events per request, oldest first. Events are removed only
+ * after the backend accepted them; a failed batch is retried with exponential
+ * backoff. The backend skips movies already in the history, so resending a
+ * batch whose response was lost changes nothing.
+ */
+public class WatchHistoryWorker extends Worker {
+    private static final String TAG       = "WatchHistoryWorker";
+    private static final String WORK_NAME = "watch-history-flush";
+
+    static final int BATCH_SIZE = 100;
+    // Taps within this window go out in the same request
+    private static final long FLUSH_DELAY_S = 60;
+    private static final long TIMEOUT_S     = 30;
+
+    private static final Object FLUSH_TAG = new Object();
+
+    // Set from scheduling until that run starts: events recorded meanwhile are already covered
+    private static final AtomicBoolean pending = new AtomicBoolean();
+
+    public WatchHistoryWorker(@NonNull Context ctx, @NonNull WorkerParameters params) {
+        super(ctx, params);
+    }
+
+    /**
+     * Queues a flush in {@link #FLUSH_DELAY_S} seconds unless one is already
+     * waiting, so a burst of events shares one run. Also call on launch to send
+     * whatever an earlier session left behind. Called while a flush is running,
+     * it queues another one after it, since the running one may have looked
+     * at the journal already.
+     */
+    public static void scheduleFlush(Context ctx) {
+        if (!pending.compareAndSet(false, true)) return;
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest req = new OneTimeWorkRequest.Builder(WatchHistoryWorker.class)
+                .setConstraints(constraints)
+                .setInitialDelay(FLUSH_DELAY_S, TimeUnit.SECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(ctx).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, req);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        pending.set(false);  // from here on, new events need a run of their own
+        Context ctx = getApplicationContext();
+        String userId = Account.userId(ctx);
+        if (userId == null) return Result.success();  // kept for when someone signs in (Account)
+
+        WatchJournal journal = WatchJournal.get(ctx);
+        while (!isStopped()) {
+            List<WatchJournal.Event> batch = journal.peek(BATCH_SIZE);
+            if (batch.isEmpty()) return Result.success();
+            long lastId = batch.get(batch.size() - 1).id;
+            try {
+                send(ctx, userId, batch);
+                journal.deleteThrough(lastId);
+            } catch (ExecutionException e) {
+                if (!isPermanent(e.getCause())) {
+                    Log.w(TAG, "Flush failed, will retry", e.getCause());
+                    return Result.retry();
+                }
+                // Malformed batch or unknown user: resending would fail the same way
+                Log.e(TAG, "Backend rejected " + batch.size() + " events, dropping them", e.getCause());
+                journal.deleteThrough(lastId);
+            } catch (TimeoutException | JSONException e) {
+                Log.w(TAG, "Flush failed, will retry", e);
+                return Result.retry();
+            } catch (InterruptedException e) {
+                ApiClient.get(ctx).cancelAll(FLUSH_TAG);
+                return Result.retry();
+            }
+        }
+        return Result.retry();
+    }
+
+    private static void send(Context ctx, String userId, List<WatchJournal.Event> batch)
+            throws JSONException, InterruptedException, ExecutionException, TimeoutException {
+        JSONArray events = new JSONArray();
+        for (WatchJournal.Event e : batch) {
+            JSONObject movie = new JSONObject()
+                    .put("_id", e.movieId)
+                    .put("Title", e.title)
+                    .put("Language", e.language)
+                    .put("Parent", CatalogRepository.parentOf(e.chain))
+                    .put("image_url", e.imageUrl);
+            events.put(new JSONObject()
+                    .put("id", e.id)
+                    .put("type", e.type)
+                    .put("at", e.at)
+                    .put("movie", movie));
+        }
+        JSONObject body = new JSONObject().put("userId", userId).put("events", events);
+
+        RequestFuture<JSONObject> future = RequestFuture.newFuture();
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.POST,
+                ApiClient.url("/api/users/watch-history/batch"), body, future, future);
+        req.setShouldCache(false);
+        // No resend inside Volley; WorkManager's backoff does the retrying
+        req.setRetryPolicy(new DefaultRetryPolicy((int) TimeUnit.SECONDS.toMillis(TIMEOUT_S), 0, 1f));
+        future.setRequest(ApiClient.get(ctx).add(req, FLUSH_TAG));
+        future.get(TIMEOUT_S, TimeUnit.SECONDS);
+    }
+
+    // 4xx other than timeouts and rate limiting: the same batch will never be accepted
+    private static boolean isPermanent(@Nullable Throwable cause) {
+        if (!(cause instanceof VolleyError)) return false;
+        NetworkResponse r = ((VolleyError) cause).networkResponse;
+        if (r == null) return false;
+        return r.statusCode >= 400 && r.statusCode < 500 && r.statusCode != 408 && r.statusCode != 429;
+    }
+}
@@ -0,0 +1,139 @@
+// app/src/main/java/com/example/cpit490project/data/WatchJournal.java
+package com.example.cpit490project.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.WorkerThread;
+
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable queue of watch-history events waiting to be sent. Recording is one
+ * insert off the main thread; {@link WatchHistoryWorker} drains the queue in
+ * batches, so a burst of taps costs the backend one write.
+ * Holds at most {@link #MAX_EVENTS}: while there is no signed-in user or no
+ * network for a long time, the oldest events are dropped first.
+ */
+public class WatchJournal extends SQLiteOpenHelper {
+    public static final String SHOWTIME_TAP = "showtime_tap";
+    public static final String DETAIL_OPEN  = "detail_open";
+
+    private static final String DB_NAME    = "watch_journal.db";
+    private static final int    DB_VERSION = 1;
+    private static final int    MAX_EVENTS = 2000;
+
+    private static final String TABLE     = "events";
+    private static final String COL_ID    = "id";
+    private static final String COL_TYPE  = "type";
+    private static final String COL_MOVIE = "movie_id";
+    private static final String COL_TITLE = "title";
+    private static final String COL_LANG  = "language";
+    private static final String COL_CHAIN = "chain";
+    private static final String COL_IMAGE = "image_url";
+    private static final String COL_AT    = "at";
+
+    /** One journaled event. */
+    static class Event {
+        long id;
+        String type;
+        String movieId, title, language, chain, imageUrl;
+        long at;  // epoch millis
+    }
+
+    private static WatchJournal instance;
+
+    private final Context appCtx;
+
+    public static synchronized WatchJournal get(Context ctx) {
+        if (instance == null) {
+            instance = new WatchJournal(ctx.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private WatchJournal(Context appCtx) {
+        super(appCtx, DB_NAME, null, DB_VERSION);
+        this.appCtx = appCtx;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COL_ID    + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COL_TYPE  + " TEXT NOT NULL, "
+                + COL_MOVIE + " TEXT NOT NULL, "
+                + COL_TITLE + " TEXT NOT NULL, "
+                + COL_LANG  + " TEXT NOT NULL, "
+                + COL_CHAIN + " TEXT NOT NULL, "
+                + COL_IMAGE + " TEXT NOT NULL, "
+                + COL_AT    + " INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Nothing to migrate yet
+    }
+
+    /** Journals {@code type} for {@code movie} and schedules a flush. Any thread. */
+    public void record(String type, Movie movie) {
+        if (movie.id == null || movie.id.isEmpty()) return;  // the backend keys history by _id
+        ContentValues v = new ContentValues();
+        v.put(COL_TYPE,  type);
+        v.put(COL_MOVIE, movie.id);
+        v.put(COL_TITLE, nonNull(movie.title));
+        v.put(COL_LANG,  nonNull(movie.language));
+        v.put(COL_CHAIN, nonNull(movie.chain));
+        v.put(COL_IMAGE, nonNull(movie.imageUrl));
+        v.put(COL_AT,    System.currentTimeMillis());
+        AppExecutors.background().execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            long id = db.insert(TABLE, null, v);
+            // ids only grow, so this keeps the newest MAX_EVENTS
+            if (id > MAX_EVENTS) {
+                db.delete(TABLE, COL_ID + " <= ?", new String[]{String.valueOf(id - MAX_EVENTS)});
+            }
+            WatchHistoryWorker.scheduleFlush(appCtx);
+        });
+    }
+
+    /** The oldest {@code limit} events, oldest first. */
+    @WorkerThread
+    List<Event> peek(int limit) {
+        List<Event> out = new ArrayList<>();
+        try (Cursor c = getReadableDatabase().query(TABLE,
+                new String[]{COL_ID, COL_TYPE, COL_MOVIE, COL_TITLE, COL_LANG, COL_CHAIN, COL_IMAGE, COL_AT},
+                null, null, null, null, COL_ID, String.valueOf(limit))) {
+            while (c.moveToNext()) {
+                Event e = new Event();
+                e.id       = c.getLong(0);
+                e.type     = c.getString(1);
+                e.movieId  = c.getString(2);
+                e.title    = c.getString(3);
+                e.language = c.getString(4);
+                e.chain    = c.getString(5);
+                e.imageUrl = c.getString(6);
+                e.at       = c.getLong(7);
+                out.add(e);
+            }
+        }
+        return out;
+    }
+
+    /** Drops every event up to and including {@code lastId}, once the backend has them. */
+    @WorkerThread
+    void deleteThrough(long lastId) {
+        getWritableDatabase().delete(TABLE, COL_ID + " <= ?", new String[]{String.valueOf(lastId)});
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+}
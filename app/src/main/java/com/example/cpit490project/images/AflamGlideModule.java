@@ -0,0 +1,53 @@
+// app/src/main/java/com/example/cpit490project/images/AflamGlideModule.java
+package com.example.cpit490project.images;
+
+import android.app.ActivityManager;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+
+/**
+ * Cache budgets for posters and offer banners.
+ * Low-RAM devices get a smaller memory/disk budget and 16-bit bitmaps everywhere.
+ */
+@GlideModule
+public final class AflamGlideModule extends AppGlideModule {
+    private static final String DISK_CACHE_DIR        = "images";
+    private static final long   DISK_CACHE_BYTES      = 150L * 1024 * 1024;
+    private static final long   DISK_CACHE_BYTES_LOW  = 50L * 1024 * 1024;
+
+    @Override
+    public void applyOptions(@NonNull Context ctx, @NonNull GlideBuilder builder) {
+        ActivityManager am = (ActivityManager) ctx.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = am != null && am.isLowRamDevice();
+
+        // Posters are the only big bitmaps we show: ~2 screens of them in memory is plenty
+        MemorySizeCalculator calc = new MemorySizeCalculator.Builder(ctx)
+                .setMemoryCacheScreens(lowRam ? 1 : 2)
+                .setBitmapPoolScreens(lowRam ? 1 : 3)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calc.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calc.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(ctx, DISK_CACHE_DIR,
+                lowRam ? DISK_CACHE_BYTES_LOW : DISK_CACHE_BYTES));
+
+        if (lowRam) {
+            builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+        }
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
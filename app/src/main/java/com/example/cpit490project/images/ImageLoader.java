@@ -0,0 +1,67 @@
+// app/src/main/java/com/example/cpit490project/images/ImageLoader.java
+package com.example.cpit490project.images;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.load.DecodeFormat;
+import com.example.cpit490project.R;
+
+/**
+ * The one place that decides how posters and offer banners are decoded.
+ * Everything is downsampled to the cell size from dimens.xml and shows a
+ * quarter-size thumbnail first. Bind and preload go through the same
+ * builders so a preloaded poster is a memory-cache hit when its cell binds.
+ */
+public final class ImageLoader {
+    private static final float THUMBNAIL_SCALE = 0.25f;
+
+    private ImageLoader() {}
+
+    public static void loadPoster(ImageView view, String url) {
+        poster(view.getContext(), url).into(view);
+    }
+
+    public static void loadOffer(ImageView view, String url) {
+        offer(view.getContext(), url).into(view);
+    }
+
+    /** Decodes the poster into Glide's caches ahead of time, behind visible cells. */
+    public static void preloadPoster(Context ctx, String url) {
+        int w = ctx.getResources().getDimensionPixelSize(R.dimen.poster_width);
+        int h = ctx.getResources().getDimensionPixelSize(R.dimen.poster_height);
+        poster(ctx, url).priority(Priority.LOW).preload(w, h);
+    }
+
+    public static void preloadOffer(Context ctx, String url) {
+        int w = ctx.getResources().getDimensionPixelSize(R.dimen.offer_width);
+        int h = ctx.getResources().getDimensionPixelSize(R.dimen.offer_height);
+        offer(ctx, url).priority(Priority.LOW).preload(w, h);
+    }
+
+    // Grid thumbnails: small and opaque, so 16-bit RGB_565 halves their memory
+    private static RequestBuilder<Drawable> poster(Context ctx, String url) {
+        int w = ctx.getResources().getDimensionPixelSize(R.dimen.poster_width);
+        int h = ctx.getResources().getDimensionPixelSize(R.dimen.poster_height);
+        return Glide.with(ctx)
+                .load(url)
+                .override(w, h)
+                .centerCrop()
+                .format(DecodeFormat.PREFER_RGB_565)
+                .thumbnail(THUMBNAIL_SCALE);
+    }
+
+    private static RequestBuilder<Drawable> offer(Context ctx, String url) {
+        int w = ctx.getResources().getDimensionPixelSize(R.dimen.offer_width);
+        int h = ctx.getResources().getDimensionPixelSize(R.dimen.offer_height);
+        return Glide.with(ctx)
+                .load(url)
+                .override(w, h)
+                .centerCrop()
+                .thumbnail(THUMBNAIL_SCALE);
+    }
+}
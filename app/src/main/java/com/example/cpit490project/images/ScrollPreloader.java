@@ -0,0 +1,51 @@
+// app/src/main/java/com/example/cpit490project/images/ScrollPreloader.java
+package com.example.cpit490project.images;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Preloads the next {@code count} items past the visible ones, in whichever
+ * direction the list is moving. Works for grids and horizontal lists since
+ * both use a LinearLayoutManager (GridLayoutManager extends it).
+ */
+public class ScrollPreloader extends RecyclerView.OnScrollListener {
+
+    public interface Loader {
+        /** Start loading item {@code position}; only called for positions inside the adapter. */
+        void preload(int position);
+    }
+
+    private final int count;
+    private final Loader loader;
+
+    // Window already handed to the loader, so small scrolls don't re-request
+    private int loadedFrom = -1, loadedTo = -1;
+
+    public ScrollPreloader(int count, Loader loader) {
+        this.count  = count;
+        this.loader = loader;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+        if (!(rv.getLayoutManager() instanceof LinearLayoutManager)) return;
+        LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+        int first = lm.findFirstVisibleItemPosition();
+        int last  = lm.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || rv.getAdapter() == null) return;
+
+        int total   = rv.getAdapter().getItemCount();
+        boolean fwd = (dy != 0 ? dy : dx) >= 0;
+        int from    = fwd ? last + 1 : Math.max(0, first - count);
+        int to      = fwd ? Math.min(total - 1, last + count) : first - 1;
+
+        for (int p = from; p <= to; p++) {
+            if (p >= loadedFrom && p <= loadedTo) continue;
+            loader.preload(p);
+        }
+        loadedFrom = from;
+        loadedTo   = to;
+    }
+}
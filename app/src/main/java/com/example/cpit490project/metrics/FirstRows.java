@@ -0,0 +1,23 @@
+// app/src/main/java/com/example/cpit490project/metrics/FirstRows.java
+package com.example.cpit490project.metrics;
+
+/**
+ * Times one screen from creation until its list first commits real rows
+ * ("<screen> first_rows"). Create it in onCreate; only the first {@link #shown} counts.
+ */
+public final class FirstRows {
+    private final Histogram histogram;
+    private final long start = Metrics.now();
+    private boolean done;
+
+    public FirstRows(String screen) {
+        histogram = Metrics.histogram(screen, "first_rows");
+    }
+
+    /** Pass as the commit callback of a submitList with a non-empty list. */
+    public void shown() {
+        if (done) return;
+        done = true;
+        Metrics.record(histogram, start);
+    }
+}
@@ -0,0 +1,311 @@
+// app/src/main/java/com/example/cpit490project/metrics/FrameStats.java
+package com.example.cpit490project.metrics;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.metrics.performance.FrameData;
+import androidx.metrics.performance.FrameDataApi24;
+import androidx.metrics.performance.JankStats;
+import androidx.metrics.performance.PerformanceMetricsState;
+import androidx.metrics.performance.StateInfo;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-screen frame counts from JankStats, in every build type.
+ *
+ * Each frame is counted against the activity whose window drew it, and against
+ * every adapter that bound rows during it (see {@link Binding}). A frame is slow
+ * when JankStats calls it jank (over twice the refresh interval, so it follows
+ * the display rate) and frozen when it takes over 700 ms. Frame durations also
+ * go to the "&lt;Screen&gt; frame" histogram next to the adapters' bind histograms.
+ *
+ * Counts add up across launches in files/frame_stats.json, rewritten whenever
+ * a screen is paused, until {@link #reset} (which deletes the file too). The
+ * file is read, written and deleted on one thread, in the order asked, and a
+ * save replaces it whole. Instrumented tests read the counts with
+ * {@link #screen} to hold a jank budget.
+ */
+public final class FrameStats implements Application.ActivityLifecycleCallbacks {
+    private static final String TAG  = "FrameStats";
+    private static final String FILE = "frame_stats.json";
+    private static final String BINDING = "binding ";  // + adapter, one state per adapter
+    private static final long FROZEN_NANOS = 700_000_000L;
+
+    private static final long LOAD_WAIT_MS = 5000;
+
+    // screen -> counts, guarded by itself; written from the frame metrics thread
+    private static final Map<String, Counts> SCREENS = new TreeMap<>();
+    // every access to the file, in order
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor();
+    private static final CountDownLatch LOADED = new CountDownLatch(1);
+    @Nullable private static volatile File file;  // set by register()
+
+    private final Map<Activity, JankStats> tracked = new WeakHashMap<>();
+
+    private FrameStats() {}
+
+    public static void register(Application app) {
+        file = new File(app.getFilesDir(), FILE);
+        IO.execute(() -> {
+            try {
+                load();
+            } finally {
+                LOADED.countDown();
+            }
+        });
+        app.registerActivityLifecycleCallbacks(new FrameStats());
+    }
+
+    /** Frame, slow and frozen counts of one screen (or of one adapter on it). */
+    public static final class Counts {
+        public long frames, slow, frozen;
+        final Map<String, Counts> bindings = new TreeMap<>();
+
+        public double slowRate() {
+            return frames == 0 ? 0 : (double) slow / frames;
+        }
+
+        public double frozenRate() {
+            return frames == 0 ? 0 : (double) frozen / frames;
+        }
+
+        void add(boolean isSlow, boolean isFrozen) {
+            frames++;
+            if (isSlow)   slow++;
+            if (isFrozen) frozen++;
+        }
+
+        Counts copy() {
+            Counts c = new Counts();
+            c.frames = frames;
+            c.slow   = slow;
+            c.frozen = frozen;
+            for (Map.Entry<String, Counts> e : bindings.entrySet()) {
+                c.bindings.put(e.getKey(), e.getValue().copy());
+            }
+            return c;
+        }
+
+        /** Frames of this screen in which {@code adapter} bound rows. */
+        public Counts binding(String adapter) {
+            Counts c = bindings.get(adapter);
+            return c == null ? new Counts() : c;
+        }
+    }
+
+    /** A copy of the counts for {@code screen} (the activity's simple class name). */
+    public static Counts screen(String screen) {
+        synchronized (SCREENS) {
+            Counts c = SCREENS.get(screen);
+            return c == null ? new Counts() : c.copy();
+        }
+    }
+
+    /**
+     * Clears every count and deletes the saved file. Waits for the saved counts
+     * to be loaded first, so they cannot come back after the clear.
+     */
+    public static void reset() {
+        File f = file;
+        if (f != null) {
+            try {
+                if (!LOADED.await(LOAD_WAIT_MS, TimeUnit.MILLISECONDS)) Log.w(TAG, "Reset before " + f + " loaded");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (SCREENS) {
+            SCREENS.clear();
+        }
+        // queued behind any save, so nothing writes the old counts back
+        if (f != null) IO.execute(() -> delete(f));
+    }
+
+    /**
+     * Tags the frames in which an adapter binds rows. Attach it from
+     * onAttachedToRecyclerView and {@link #mark} it from onBindViewHolder.
+     */
+    public static final class Binding {
+        private final String adapter, key;
+        @Nullable private PerformanceMetricsState.Holder holder;
+
+        public Binding(String adapter) {
+            this.adapter = adapter;
+            this.key     = BINDING + adapter;
+        }
+
+        public void attach(View list) {
+            holder = PerformanceMetricsState.getHolderForHierarchy(list);
+        }
+
+        public void mark() {
+            PerformanceMetricsState state = holder == null ? null : holder.getState();
+            if (state != null) state.putSingleFrameState(key, adapter);
+        }
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        JankStats jank = tracked.get(activity);
+        if (jank == null) {
+            String screen = activity.getClass().getSimpleName();
+            Histogram frame = Metrics.histogram(screen, "frame");
+            jank = JankStats.createAndTrack(activity.getWindow(), d -> onFrame(screen, frame, d));
+            tracked.put(activity, jank);
+        }
+        jank.setTrackingEnabled(true);
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+        JankStats jank = tracked.get(activity);
+        if (jank != null) jank.setTrackingEnabled(false);
+        File f = file;
+        if (f != null) IO.execute(() -> save(f));
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+        tracked.remove(activity);
+    }
+
+    // Frame metrics thread; the FrameData is reused, so nothing of it is kept
+    private static void onFrame(String screen, Histogram frame, FrameData d) {
+        long nanos = d instanceof FrameDataApi24
+                ? ((FrameDataApi24) d).getFrameDurationTotalNanos()
+                : d.getFrameDurationUiNanos();
+        boolean slow   = d.isJank();
+        boolean frozen = nanos >= FROZEN_NANOS;
+        frame.recordNanos(nanos);
+
+        List<StateInfo> states = d.getStates();
+        synchronized (SCREENS) {
+            Counts c = SCREENS.get(screen);
+            if (c == null) SCREENS.put(screen, c = new Counts());
+            c.add(slow, frozen);
+            for (int i = 0; i < states.size(); i++) {
+                StateInfo s = states.get(i);
+                if (!s.getKey().startsWith(BINDING)) continue;
+                Counts b = c.bindings.get(s.getValue());
+                if (b == null) c.bindings.put(s.getValue(), b = new Counts());
+                b.add(slow, frozen);
+            }
+        }
+    }
+
+    /** {@code {"<Screen>": {frames, slow, frozen, slow_rate, frozen_rate, bindings: {...}}}} */
+    public static JSONObject toJson() throws JSONException {
+        JSONObject out = new JSONObject();
+        synchronized (SCREENS) {
+            for (Map.Entry<String, Counts> e : SCREENS.entrySet()) out.put(e.getKey(), toJson(e.getValue()));
+        }
+        return out;
+    }
+
+    private static JSONObject toJson(Counts c) throws JSONException {
+        JSONObject o = new JSONObject();
+        o.put("frames",      c.frames);
+        o.put("slow",        c.slow);
+        o.put("frozen",      c.frozen);
+        o.put("slow_rate",   Math.round(c.slowRate() * 10000) / 10000.0);
+        o.put("frozen_rate", Math.round(c.frozenRate() * 10000) / 10000.0);
+        if (!c.bindings.isEmpty()) {
+            JSONObject b = new JSONObject();
+            for (Map.Entry<String, Counts> e : c.bindings.entrySet()) b.put(e.getKey(), toJson(e.getValue()));
+            o.put("bindings", b);
+        }
+        return o;
+    }
+
+    // Adds the saved counts to whatever this launch has counted so far
+    private static void merge(Counts into, JSONObject o) {
+        into.frames += o.optLong("frames");
+        into.slow   += o.optLong("slow");
+        into.frozen += o.optLong("frozen");
+        JSONObject b = o.optJSONObject("bindings");
+        if (b == null) return;
+        for (Iterator<String> it = b.keys(); it.hasNext(); ) {
+            String adapter = it.next();
+            Counts c = into.bindings.get(adapter);
+            if (c == null) into.bindings.put(adapter, c = new Counts());
+            merge(c, b.optJSONObject(adapter));
+        }
+    }
+
+    // IO thread
+    private static void load() {
+        File file = FrameStats.file;
+        if (file == null || !file.exists()) return;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buf = new byte[(int) file.length()];
+            int n = 0;
+            while (n < buf.length) {
+                int r = in.read(buf, n, buf.length - n);
+                if (r < 0) break;
+                n += r;
+            }
+            JSONObject saved = new JSONObject(new String(buf, 0, n, StandardCharsets.UTF_8));
+            synchronized (SCREENS) {
+                for (Iterator<String> it = saved.keys(); it.hasNext(); ) {
+                    String screen = it.next();
+                    Counts c = SCREENS.get(screen);
+                    if (c == null) SCREENS.put(screen, c = new Counts());
+                    merge(c, saved.getJSONObject(screen));
+                }
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Dropping unreadable " + file, e);
+            delete(file);
+        }
+    }
+
+    // IO thread. Written next to the file and renamed over it, so a crash mid-write
+    // leaves the previous counts, never half a file.
+    private static void save(File file) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (FileOutputStream os = new FileOutputStream(tmp)) {
+                os.write(toJson().toString().getBytes(StandardCharsets.UTF_8));
+                os.getFD().sync();
+            }
+            if (!tmp.renameTo(file)) throw new IOException("rename failed");
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Could not write " + file, e);
+            delete(tmp);
+        }
+    }
+
+    // IO thread
+    private static void delete(File f) {
+        if (f.exists() && !f.delete()) Log.w(TAG, "Could not delete " + f);
+    }
+
+    @Override public void onActivityCreated(@NonNull Activity a, @Nullable Bundle b) { }
+    @Override public void onActivityStarted(@NonNull Activity a) { }
+    @Override public void onActivityStopped(@NonNull Activity a) { }
+    @Override public void onActivitySaveInstanceState(@NonNull Activity a, @NonNull Bundle b) { }
+}
@@ -0,0 +1,78 @@
+// app/src/main/java/com/example/cpit490project/metrics/Histogram.java
+package com.example.cpit490project.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with log-spaced buckets (about 5% wide) from
+ * 1 µs to a few minutes. Recording is a couple of atomic adds, so it is cheap
+ * enough for bind paths; percentiles are read from the bucket upper bounds.
+ */
+public class Histogram {
+    // bucket i covers (GROWTH^(i-1), GROWTH^i] microseconds
+    private static final double GROWTH  = 1.05;
+    private static final int    BUCKETS = 400;   // 1.05^400 µs is far past any request
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        if (micros < 0) return;
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) { }
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public double meanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / 1000.0 / n;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /** Upper bound of the bucket holding the {@code p}-th percentile (0-100), in ms. */
+    public double percentileMillis(double p) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperMicros(i), maxMicros.get()) / 1000.0;
+        }
+        return maxMillis();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        sumMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros <= 1) return 0;
+        int i = (int) Math.ceil(Math.log(micros) / LOG_GROWTH);
+        return Math.min(i, BUCKETS - 1);
+    }
+
+    static double upperMicros(int bucket) {
+        return Math.pow(GROWTH, bucket);
+    }
+}
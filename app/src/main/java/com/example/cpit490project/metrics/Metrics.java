@@ -0,0 +1,133 @@
+// app/src/main/java/com/example/cpit490project/metrics/Metrics.java
+package com.example.cpit490project.metrics;
+
+import android.net.Uri;
+import android.os.Trace;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide latency histograms keyed by "endpoint stage", e.g.
+ * "/movies/parent/vox ttfb" or "MovieAdapter bind".
+ *
+ * Network stages (see {@link TimedHttpStack} and CatalogRepository):
+ * ttfb (DNS, connect and server up to the response headers), server (the
+ * backend's own Server-Timing), download, parse, deliver (wait for the main
+ * thread) and total (load call to data handed to the screen).
+ * UI stages: bind per adapter, chip per detail-screen handler,
+ * first_rows per screen (onCreate to the first rows on screen) and frame per
+ * screen (every drawn frame, see {@link FrameStats}).
+ *
+ * {@link #begin}/{@link #end} also open an android.os.Trace section, so the
+ * same spans show up in Perfetto/systrace.
+ */
+public final class Metrics {
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    // Mongo ObjectIds and other long ids in paths
+    private static final Pattern ID = Pattern.compile("/[0-9a-fA-F]{24}(?=/|$)");
+
+    private Metrics() {}
+
+    public static Histogram histogram(String endpoint, String stage) {
+        String key = endpoint + " " + stage;
+        Histogram h = HISTOGRAMS.get(key);
+        if (h == null) {
+            Histogram fresh = new Histogram();
+            h = HISTOGRAMS.putIfAbsent(key, fresh);
+            if (h == null) h = fresh;
+        }
+        return h;
+    }
+
+    /** Path of {@code url} without host and query, with ids folded to ":id". */
+    public static String endpoint(String url) {
+        String path = Uri.parse(url).getPath();
+        if (path == null || path.isEmpty()) return "/";
+        return ID.matcher(path).replaceAll("/:id");
+    }
+
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /** Records the time since {@code startNanos} (from {@link #now}). */
+    public static void record(Histogram h, long startNanos) {
+        h.recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /** Opens a trace section and returns the start time for {@link #end}. Same thread only. */
+    public static long begin(String section) {
+        Trace.beginSection(section);
+        return System.nanoTime();
+    }
+
+    public static void end(Histogram h, long startNanos) {
+        h.recordNanos(System.nanoTime() - startNanos);
+        Trace.endSection();
+    }
+
+    /** Keys sorted, for the overlay and dumps. */
+    public static List<String> keys() {
+        List<String> keys = new ArrayList<>(HISTOGRAMS.keySet());
+        Collections.sort(keys);
+        return keys;
+    }
+
+    public static Histogram get(String key) {
+        return HISTOGRAMS.get(key);
+    }
+
+    public static void reset() {
+        for (Histogram h : HISTOGRAMS.values()) h.reset();
+    }
+
+    /** {@code {"<endpoint> <stage>": {count, mean_ms, p50_ms, p95_ms, p99_ms, max_ms}}} */
+    public static JSONObject toJson() throws JSONException {
+        JSONObject out = new JSONObject();
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            Histogram h = e.getValue();
+            if (h.count() == 0) continue;
+            JSONObject s = new JSONObject();
+            s.put("count",   h.count());
+            s.put("mean_ms", round(h.meanMillis()));
+            s.put("p50_ms",  round(h.percentileMillis(50)));
+            s.put("p95_ms",  round(h.percentileMillis(95)));
+            s.put("p99_ms",  round(h.percentileMillis(99)));
+            s.put("max_ms",  round(h.maxMillis()));
+            out.put(e.getKey(), s);
+        }
+        return out;
+    }
+
+    // "app;dur=12.3" (other metrics in the header are ignored); -1 if absent
+    static long serverMicros(String value) {
+        for (String metric : value.split(",")) {
+            String[] parts = metric.trim().split(";");
+            if (!parts[0].trim().equals("app")) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String p = parts[i].trim();
+                if (!p.startsWith("dur=")) continue;
+                try {
+                    return (long) (Double.parseDouble(p.substring(4)) * 1000);
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+}
@@ -0,0 +1,64 @@
+// app/src/main/java/com/example/cpit490project/metrics/MetricsDumpReceiver.java
+package com.example.cpit490project.metrics;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Debug builds only. Dumps every histogram as JSON to logcat and to
+ * files/metrics.json:
+ *
+ *   adb shell am broadcast -a com.example.cpit490project.DUMP_METRICS
+ *   adb shell run-as com.example.cpit490project cat files/metrics.json
+ *
+ * Per-screen frame counts ({@link FrameStats}) are included under "frames".
+ * Add {@code --ez reset true} to clear both after the dump.
+ */
+public class MetricsDumpReceiver extends BroadcastReceiver {
+    public static final String ACTION = "com.example.cpit490project.DUMP_METRICS";
+    private static final String TAG = "Metrics";
+
+    public static void register(Context appCtx) {
+        IntentFilter filter = new IntentFilter(ACTION);
+        if (Build.VERSION.SDK_INT >= 33) {
+            // sent by adb, so it has to be exported
+            appCtx.registerReceiver(new MetricsDumpReceiver(), filter, Context.RECEIVER_EXPORTED);
+        } else {
+            appCtx.registerReceiver(new MetricsDumpReceiver(), filter);
+        }
+    }
+
+    @Override
+    public void onReceive(Context ctx, Intent intent) {
+        try {
+            JSONObject json = Metrics.toJson();
+            json.put("frames", FrameStats.toJson());
+            String text = json.toString(2);
+            for (String line : text.split("\n")) Log.i(TAG, line);
+
+            File out = new File(ctx.getFilesDir(), "metrics.json");
+            try (FileOutputStream os = new FileOutputStream(out)) {
+                os.write(text.getBytes(StandardCharsets.UTF_8));
+            }
+            Log.i(TAG, "Wrote " + out);
+        } catch (JSONException | IOException e) {
+            Log.e(TAG, "Metrics dump failed", e);
+        }
+        if (intent.getBooleanExtra("reset", false)) {
+            Metrics.reset();
+            FrameStats.reset();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// app/src/main/java/com/example/cpit490project/metrics/MetricsOverlay.java
+package com.example.cpit490project.metrics;
+
+import android.app.Activity;
+import android.app.Application;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Debug builds only: a small p50/p95/p99 table pinned over every activity,
+ * refreshed once a second while the activity is resumed. Tap it to switch
+ * between the network stages and the UI stages.
+ */
+public class MetricsOverlay implements Application.ActivityLifecycleCallbacks {
+    private static final long REFRESH_MS = 1000;
+    private static final int  MAX_LINES  = 14;
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    @Nullable private TextView view;
+    private boolean showUi;
+
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            if (view == null) return;
+            view.setText(render(showUi));
+            main.postDelayed(this, REFRESH_MS);
+        }
+    };
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        ViewGroup decor = (ViewGroup) activity.getWindow().getDecorView();
+        TextView tv = decor.findViewWithTag(MetricsOverlay.class);
+        if (tv == null) {
+            tv = new TextView(activity);
+            tv.setTag(MetricsOverlay.class);
+            tv.setTypeface(Typeface.MONOSPACE);
+            tv.setTextSize(9);
+            tv.setTextColor(Color.WHITE);
+            tv.setBackgroundColor(0xAA000000);
+            tv.setPadding(8, 4, 8, 4);
+            tv.setOnClickListener(v -> {
+                showUi = !showUi;
+                ((TextView) v).setText(render(showUi));
+            });
+            decor.addView(tv, new FrameLayout.LayoutParams(
+                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT,
+                    Gravity.BOTTOM | Gravity.START));
+        }
+        view = tv;
+        main.removeCallbacks(refresh);
+        main.post(refresh);
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+        main.removeCallbacks(refresh);
+        view = null;
+    }
+
+    static String render(boolean ui) {
+        StringBuilder sb = new StringBuilder(ui ? "UI" : "NETWORK")
+                .append(" (ms)              p50    p95    p99     n");
+        int lines = 0;
+        for (String key : Metrics.keys()) {
+            boolean network = key.startsWith("/");
+            if (network == ui) continue;
+            Histogram h = Metrics.get(key);
+            if (h == null || h.count() == 0) continue;
+            if (++lines > MAX_LINES) break;
+            sb.append('\n').append(String.format(Locale.US, "%-26s %6.1f %6.1f %6.1f %5d",
+                    shorten(key), h.percentileMillis(50), h.percentileMillis(95),
+                    h.percentileMillis(99), h.count()));
+        }
+        return sb.toString();
+    }
+
+    private static String shorten(String key) {
+        String k = key.replace("/movies/parent/", "").replace("Activity", "").replace("Adapter", "");
+        return k.length() <= 26 ? k : k.substring(k.length() - 26);
+    }
+
+    @Override public void onActivityCreated(@NonNull Activity a, @Nullable Bundle b) { }
+    @Override public void onActivityStarted(@NonNull Activity a) { }
+    @Override public void onActivityStopped(@NonNull Activity a) { }
+    @Override public void onActivitySaveInstanceState(@NonNull Activity a, @NonNull Bundle b) { }
+    @Override public void onActivityDestroyed(@NonNull Activity a) { }
+}
@@ -0,0 +1,89 @@
+// app/src/main/java/com/example/cpit490project/metrics/TimedHttpStack.java
+package com.example.cpit490project.metrics;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
+import com.android.volley.Request;
+import com.android.volley.toolbox.BaseHttpStack;
+import com.android.volley.toolbox.HttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Wraps Volley's HTTP stack to time each request on the wire: ttfb until the
+ * headers are in, the backend's "Server-Timing: app;dur=..." as server, and
+ * download until the body is fully read. HttpURLConnection does not expose
+ * DNS and connect separately; they are the part of ttfb that is not server.
+ */
+public class TimedHttpStack extends BaseHttpStack {
+    private final BaseHttpStack delegate;
+
+    public TimedHttpStack(BaseHttpStack delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
+            throws IOException, AuthFailureError {
+        String endpoint = Metrics.endpoint(request.getUrl());
+        long start = Metrics.now();
+        HttpResponse response = delegate.executeRequest(request, additionalHeaders);
+        long headersAt = Metrics.now();
+        Metrics.histogram(endpoint, "ttfb").recordNanos(headersAt - start);
+
+        for (Header h : response.getHeaders()) {
+            if (h.getName().equalsIgnoreCase("Server-Timing")) {
+                long micros = Metrics.serverMicros(h.getValue());
+                if (micros >= 0) Metrics.histogram(endpoint, "server").recordMicros(micros);
+            }
+        }
+
+        InputStream body = response.getContent();
+        if (body == null) return response;
+        InputStream timed = new TimedStream(body, Metrics.histogram(endpoint, "download"), headersAt);
+        return new HttpResponse(response.getStatusCode(), response.getHeaders(),
+                response.getContentLength(), timed);
+    }
+
+    // Records once, when the body hits EOF or is closed
+    private static class TimedStream extends FilterInputStream {
+        private final Histogram histogram;
+        private final long start;
+        private boolean done;
+
+        TimedStream(InputStream in, Histogram histogram, long start) {
+            super(in);
+            this.histogram = histogram;
+            this.start     = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) finish();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n < 0) finish();
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            super.close();
+        }
+
+        private void finish() {
+            if (done) return;
+            done = true;
+            Metrics.record(histogram, start);
+        }
+    }
+}
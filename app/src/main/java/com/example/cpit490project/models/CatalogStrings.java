@@ -0,0 +1,59 @@
+// app/src/main/java/com/example/cpit490project/models/CatalogStrings.java
+package com.example.cpit490project.models;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide dictionary of the strings timetables repeat: dates, cities,
+ * places, experiences and show times. Each distinct string is kept once and
+ * known by an int code, so a {@link Timetable} stores codes instead of strings.
+ *
+ * Codes are never reused or removed; the whole catalog only has a few thousand
+ * such strings. Code 0 is "".
+ */
+public final class CatalogStrings {
+    private static final Map<String, Integer> codes = new HashMap<>();
+    // Copied when it grows; otherwise code() writes the new slot in place and then
+    // re-publishes the array. A slot is written once, before its code is returned,
+    // and a code can only reach another thread after that, so get() needs no lock.
+    // A reader must not ask for a code it did not get from code() (or from data
+    // built with it); slots past the last one returned may still be empty.
+    private static volatile String[] strings = new String[1024];
+    private static int size;
+
+    static {
+        code("");
+    }
+
+    private CatalogStrings() {}
+
+    /** The code of {@code s}, adding it on first use. */
+    public static synchronized int code(String s) {
+        if (s == null) return 0;
+        Integer c = codes.get(s);
+        if (c != null) return c;
+        String[] table = strings;
+        if (size == table.length) table = Arrays.copyOf(table, size * 2);
+        table[size] = s;
+        strings = table;
+        codes.put(s, size);
+        return size++;
+    }
+
+    /** The string of a code returned by {@link #code}; safe without the lock. */
+    public static String get(int code) {
+        return strings[code];
+    }
+
+    /** The shared instance equal to {@code s}. */
+    public static String intern(String s) {
+        return get(code(s));
+    }
+
+    /** How many distinct strings are held. */
+    public static synchronized int size() {
+        return size;
+    }
+}
@@ -1,21 +1,39 @@
 // app/src/main/java/com/example/cpit490project/models/Movie.java
 package com.example.cpit490project.models;
 
-import org.json.JSONArray;
+import java.util.List;
 
 public class Movie {
+    public String id;     // backend _id
+    public String chain;  // "amc", "muvi", "vox" or "empire"
     public String title;
     public String imageUrl;
     public String language;
     public String showtimesUrl;  // NEW
-    public JSONArray timings;
+    public List<String> cities;     // where it plays; comes with the card list
+    // one entry per date / city / place / experience, decoded into a compact Timetable;
+    // null until fetched, the card list does not include them
+    public List<Showtime> timings;
 
     public Movie(String title, String imageUrl, String language,
-                 String showtimesUrl, JSONArray timings) {
+                 String showtimesUrl, List<Showtime> timings) {
         this.title        = title;
         this.imageUrl     = imageUrl;
         this.language     = language;
         this.showtimesUrl = showtimesUrl;
         this.timings      = timings;
     }
+
+    /**
+     * Stable across refreshes; screens pass this around instead of the movie itself.
+     * Built from the backend _id: a chain can list the same title more than once
+     * (one copy per language).
+     */
+    public String key() {
+        return keyOf(chain, id);
+    }
+
+    public static String keyOf(String chain, String id) {
+        return chain + "/" + id;
+    }
 }
@@ -10,4 +10,8 @@ public class Offer {
         this.title = title;
         this.url = url;
     }
+
+    public String key() {
+        return title + "/" + url;
+    }
 }
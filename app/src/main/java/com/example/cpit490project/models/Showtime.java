@@ -3,14 +3,32 @@ package com.example.cpit490project.models;
 
 import java.util.List;
 
+/**
+ * One date / city / place / experience row and its times. Rows of a decoded
+ * movie are views handed out by its {@link Timetable}.
+ */
 public class Showtime {
-    public String place;
-    public String experience;
-    public List<String> times;
+    public final String date;
+    public final String city;
+    public final String place;
+    public final String experience;
+    public final List<String> times;
 
     public Showtime(String place, String experience, List<String> times) {
+        this("", "", place, experience, times);
+    }
+
+    public Showtime(String date, String city, String place,
+                    String experience, List<String> times) {
+        this.date       = date;
+        this.city       = city;
         this.place      = place;
         this.experience = experience;
         this.times      = times;
     }
+
+    /** Identifies the row within one city/date list. */
+    public String key() {
+        return place + "/" + experience;
+    }
 }
@@ -0,0 +1,151 @@
+// app/src/main/java/com/example/cpit490project/models/Timetable.java
+package com.example.cpit490project.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Every showtime row of one movie in two flat int arrays: per row the
+ * {@link CatalogStrings} codes of its date, city, place and experience, and
+ * all rows' time codes back to back, each row owning a slice. No per-row
+ * objects are kept; {@link #get} hands out a {@link Showtime} view whose
+ * strings are the shared dictionary instances.
+ *
+ * Immutable once built, so it can be read from any thread.
+ */
+public final class Timetable extends AbstractList<Showtime> implements RandomAccess {
+    // row layout in {@link #rows}
+    private static final int DATE = 0, CITY = 1, PLACE = 2, EXP = 3, TIMES_FROM = 4;
+    private static final int WIDTH = 5;
+
+    private final int[] rows;
+    private final int[] times;
+    private final int size;
+
+    private Timetable(int[] rows, int[] times, int size) {
+        this.rows  = rows;
+        this.times = times;
+        this.size  = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Showtime get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Row " + i + " of " + size);
+        int r = i * WIDTH;
+        return new Showtime(
+                CatalogStrings.get(rows[r + DATE]),
+                CatalogStrings.get(rows[r + CITY]),
+                CatalogStrings.get(rows[r + PLACE]),
+                CatalogStrings.get(rows[r + EXP]),
+                new Times(times, rows[r + TIMES_FROM], timesTo(i)));
+    }
+
+    /** Code of row {@code i}'s city, for grouping without building the row. */
+    public int cityCode(int i) {
+        return rows[i * WIDTH + CITY];
+    }
+
+    public int dateCode(int i) {
+        return rows[i * WIDTH + DATE];
+    }
+
+    private int timesTo(int i) {
+        return i + 1 < size ? rows[(i + 1) * WIDTH + TIMES_FROM] : times.length;
+    }
+
+    // One row's times: a slice of the movie's time codes
+    private static final class Times extends AbstractList<String> implements RandomAccess {
+        private final int[] codes;
+        private final int from, to;
+
+        Times(int[] codes, int from, int to) {
+            this.codes = codes;
+            this.from  = from;
+            this.to    = to;
+        }
+
+        @Override
+        public String get(int i) {
+            if (i < 0 || i >= to - from) throw new IndexOutOfBoundsException("Time " + i);
+            return CatalogStrings.get(codes[from + i]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Rows are added in order; each {@link #row} is followed by its {@link #time}s.
+     * Date, city and place can be filled in later for a run of rows, for formats
+     * that send them after the experiences they apply to.
+     */
+    public static final class Builder {
+        private int[] rows = new int[16 * WIDTH];
+        private int[] times = new int[64];
+        private int size, nTimes;
+
+        public Builder row(String date, String city, String place, String experience) {
+            return row(CatalogStrings.code(date), CatalogStrings.code(city),
+                    CatalogStrings.code(place), CatalogStrings.code(experience));
+        }
+
+        /** Same as {@link #row(String, String, String, String)} with dictionary codes. */
+        public Builder row(int date, int city, int place, int experience) {
+            if ((size + 1) * WIDTH > rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+            int r = size++ * WIDTH;
+            rows[r + DATE]       = date;
+            rows[r + CITY]       = city;
+            rows[r + PLACE]      = place;
+            rows[r + EXP]        = experience;
+            rows[r + TIMES_FROM] = nTimes;
+            return this;
+        }
+
+        public Builder time(String time) {
+            return time(CatalogStrings.code(time));
+        }
+
+        public Builder time(int code) {
+            if (nTimes == times.length) times = Arrays.copyOf(times, nTimes * 2);
+            times[nTimes++] = code;
+            return this;
+        }
+
+        public Builder times(List<String> list) {
+            for (String t : list) time(t);
+            return this;
+        }
+
+        /** Rows added so far; pass it to the fill methods as the start of a run. */
+        public int size() {
+            return size;
+        }
+
+        public void fillDate(int fromRow, String date) {
+            int code = CatalogStrings.code(date);
+            for (int i = fromRow; i < size; i++) rows[i * WIDTH + DATE] = code;
+        }
+
+        public void fillPlace(int fromRow, String city, String place) {
+            int c = CatalogStrings.code(city), p = CatalogStrings.code(place);
+            for (int i = fromRow; i < size; i++) {
+                rows[i * WIDTH + CITY]  = c;
+                rows[i * WIDTH + PLACE] = p;
+            }
+        }
+
+        /** Trimmed to size; the builder should not be used afterwards. */
+        public Timetable build() {
+            return new Timetable(Arrays.copyOf(rows, size * WIDTH), Arrays.copyOf(times, nTimes), size);
+        }
+    }
+}
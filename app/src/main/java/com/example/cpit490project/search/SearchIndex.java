@@ -0,0 +1,293 @@
+// app/src/main/java/com/example/cpit490project/search/SearchIndex.java
+package com.example.cpit490project.search;
+
+import androidx.annotation.Nullable;
+
+import com.example.cpit490project.models.Movie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory inverted index over every chain's movies.
+ *
+ * Titles are split into normalized tokens (lower case, accents stripped).
+ * A query matches a movie when every query token is a prefix of one of its
+ * title tokens; the last token may also be one typo away from a prefix
+ * (found through a one-deletion neighbourhood table, so no edit-distance
+ * scans at query time). Language and city work as exact facets.
+ *
+ * Chains are updated one at a time with {@link #updateChain}, which only
+ * touches the movies that were added, removed or changed.
+ * All methods are synchronized; queries are cheap enough to run on the main thread.
+ */
+public class SearchIndex {
+    /** Shortest query token that is matched with typo tolerance. */
+    static final int MIN_FUZZY = 3;
+
+    // Postings point at docs directly so queries never hash strings per hit
+    private static class Doc {
+        Movie movie;
+        final String key;
+        final Set<String> tokens;
+        Doc(Movie movie, Set<String> tokens) {
+            this.movie  = movie;
+            this.key    = movie.key();
+            this.tokens = tokens;
+        }
+    }
+
+    // movie key (chain and _id; titles repeat within a chain) -> doc
+    private final Map<String, Doc> docs = new HashMap<>();
+    // chain -> keys of its movies
+    private final Map<String, Set<String>> chainKeys = new HashMap<>();
+    // title token -> docs; sorted so a prefix is a sub-map
+    private final TreeMap<String, Set<Doc>> postings = new TreeMap<>();
+    // prefix or prefix-minus-one-char -> title tokens it came from
+    private final Map<String, Set<String>> fuzzy = new HashMap<>();
+    // facet value -> docs
+    private final Map<String, Set<Doc>> byLanguage = new TreeMap<>();
+    private final Map<String, Set<Doc>> byCity     = new TreeMap<>();
+
+    /** Replaces what the index holds for {@code chain} with {@code movies}. */
+    public synchronized void updateChain(String chain, List<Movie> movies) {
+        Set<String> oldKeys = chainKeys.get(chain);
+        Set<String> newKeys = new HashSet<>(movies.size() * 2);
+
+        for (Movie m : movies) {
+            String key = m.key();
+            newKeys.add(key);
+            Doc doc = docs.get(key);
+            if (doc != null && sameFacets(doc.movie, m)) {
+                doc.movie = m;  // same title/language/cities: just point at the fresh object
+                continue;
+            }
+            if (doc != null) remove(key);
+            add(m);
+        }
+        if (oldKeys != null) {
+            for (String key : oldKeys) {
+                if (!newKeys.contains(key)) remove(key);
+            }
+        }
+        chainKeys.put(chain, newKeys);
+    }
+
+    /**
+     * Movies matching {@code query}, best first. Null facets are ignored.
+     * An empty query lists everything that passes the facets.
+     */
+    public synchronized List<Movie> search(String query, @Nullable String language,
+                                           @Nullable String city, int limit) {
+        List<String> terms = tokenize(query);
+        Map<Doc, Integer> scores = null;
+
+        for (int i = 0; i < terms.size(); i++) {
+            boolean last = i == terms.size() - 1;
+            Map<Doc, Integer> termScores = match(terms.get(i), last);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // every term has to match: keep the intersection
+                Map<Doc, Integer> both = new HashMap<>();
+                for (Map.Entry<Doc, Integer> e : termScores.entrySet()) {
+                    Integer prev = scores.get(e.getKey());
+                    if (prev != null) both.put(e.getKey(), prev + e.getValue());
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) return Collections.emptyList();
+        }
+
+        Set<Doc> langDocs = language == null ? null : byLanguage.get(language);
+        Set<Doc> cityDocs = city == null ? null : byCity.get(city);
+        if ((language != null && langDocs == null) || (city != null && cityDocs == null)) {
+            return Collections.emptyList();
+        }
+
+        List<Doc> hits = new ArrayList<>();
+        Iterable<Doc> candidates = scores != null ? scores.keySet() : docs.values();
+        for (Doc d : candidates) {
+            if (langDocs != null && !langDocs.contains(d)) continue;
+            if (cityDocs != null && !cityDocs.contains(d)) continue;
+            hits.add(d);
+        }
+
+        final Map<Doc, Integer> s = scores;
+        Collections.sort(hits, (a, b) -> {
+            if (s != null) {
+                int byScore = Integer.compare(s.get(b), s.get(a));
+                if (byScore != 0) return byScore;
+            }
+            int byTitle = a.movie.title.compareToIgnoreCase(b.movie.title);
+            return byTitle != 0 ? byTitle : a.key.compareTo(b.key);
+        });
+
+        List<Movie> out = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) out.add(hits.get(i).movie);
+        return out;
+    }
+
+    public synchronized List<String> languages() {
+        return new ArrayList<>(byLanguage.keySet());
+    }
+
+    public synchronized List<String> cities() {
+        return new ArrayList<>(byCity.keySet());
+    }
+
+    public synchronized int size() {
+        return docs.size();
+    }
+
+    // Exact token 3, prefix 2, one typo away 1
+    private Map<Doc, Integer> match(String term, boolean allowFuzzy) {
+        Map<Doc, Integer> out = new HashMap<>();
+        SortedMap<String, Set<Doc>> range = postings.subMap(term, term + Character.MAX_VALUE);
+        for (Map.Entry<String, Set<Doc>> e : range.entrySet()) {
+            int score = e.getKey().equals(term) ? 3 : 2;
+            for (Doc d : e.getValue()) out.merge(d, score, Math::max);
+        }
+        if (!allowFuzzy || term.length() < MIN_FUZZY) return out;
+
+        Set<String> near = new HashSet<>();
+        collect(fuzzy.get(term), near);
+        for (int i = 0; i < term.length(); i++) {
+            collect(fuzzy.get(deleteAt(term, i)), near);
+        }
+        for (String token : near) {
+            Set<Doc> hits = postings.get(token);
+            if (hits == null) continue;
+            for (Doc d : hits) out.merge(d, 1, Math::max);
+        }
+        return out;
+    }
+
+    private void add(Movie m) {
+        Doc doc = new Doc(m, new TreeSet<>(tokenize(m.title)));
+        docs.put(doc.key, doc);
+        for (String t : doc.tokens) {
+            Set<Doc> hits = postings.get(t);
+            if (hits == null) {
+                hits = new HashSet<>();
+                postings.put(t, hits);
+                addFuzzy(t);
+            }
+            hits.add(doc);
+        }
+        put(byLanguage, facet(m.language), doc);
+        if (m.cities != null) {
+            for (String c : m.cities) put(byCity, facet(c), doc);
+        }
+    }
+
+    private void remove(String key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) return;
+        for (String t : doc.tokens) {
+            Set<Doc> hits = postings.get(t);
+            if (hits == null) continue;
+            hits.remove(doc);
+            if (hits.isEmpty()) {
+                postings.remove(t);
+                removeFuzzy(t);
+            }
+        }
+        drop(byLanguage, facet(doc.movie.language), doc);
+        if (doc.movie.cities != null) {
+            for (String c : doc.movie.cities) drop(byCity, facet(c), doc);
+        }
+    }
+
+    // Every prefix of length >= MIN_FUZZY, and each of those with one char deleted
+    private void addFuzzy(String token) {
+        for (String v : variants(token)) put(fuzzy, v, token);
+    }
+
+    private void removeFuzzy(String token) {
+        for (String v : variants(token)) drop(fuzzy, v, token);
+    }
+
+    private static Set<String> variants(String token) {
+        Set<String> out = new HashSet<>();
+        for (int len = MIN_FUZZY; len <= token.length(); len++) {
+            String prefix = token.substring(0, len);
+            out.add(prefix);
+            for (int i = 0; i < len; i++) out.add(deleteAt(prefix, i));
+        }
+        return out;
+    }
+
+    private static String deleteAt(String s, int i) {
+        return s.substring(0, i) + s.substring(i + 1);
+    }
+
+    private static boolean sameFacets(Movie a, Movie b) {
+        return a.title.equals(b.title)
+                && Objects.equals(a.language, b.language)
+                && Objects.equals(a.cities, b.cities);
+    }
+
+    private static void collect(@Nullable Set<String> from, Set<String> into) {
+        if (from != null) into.addAll(from);
+    }
+
+    private static <V> void put(Map<String, Set<V>> map, String k, V v) {
+        if (k.isEmpty()) return;
+        Set<V> set = map.get(k);
+        if (set == null) {
+            set = new HashSet<>();
+            map.put(k, set);
+        }
+        set.add(v);
+    }
+
+    private static <V> void drop(Map<String, Set<V>> map, String k, V v) {
+        Set<V> set = map.get(k);
+        if (set == null) return;
+        set.remove(v);
+        if (set.isEmpty()) map.remove(k);
+    }
+
+    private static String facet(@Nullable String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    /** Lower-cased, accent-free words of {@code text}. */
+    public static List<String> tokenize(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase();
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) start = i;
+            if (!word && start >= 0) {
+                out.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    /** Key that ignores case, accents and punctuation: "Spider-Man: No Way Home" -> "spider man no way home". */
+    public static String normalizedTitle(String title) {
+        StringBuilder sb = new StringBuilder();
+        for (String t : tokenize(title)) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(t);
+        }
+        return sb.toString();
+    }
+}
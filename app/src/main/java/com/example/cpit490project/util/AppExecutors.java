@@ -0,0 +1,35 @@
+// app/src/main/java/com/example/cpit490project/util/AppExecutors.java
+package com.example.cpit490project.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Shared threads for work that must stay off the UI thread (parsing, indexing, ...). */
+public final class AppExecutors {
+    private static final int THREADS = 2;
+
+    private static final ExecutorService BACKGROUND = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            r.run();
+        }, "aflam-bg");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private AppExecutors() {}
+
+    public static ExecutorService background() {
+        return BACKGROUND;
+    }
+
+    public static void main(Runnable r) {
+        MAIN.post(r);
+    }
+}
@@ -0,0 +1,19 @@
+// app/src/main/java/com/example/cpit490project/util/StableIds.java
+package com.example.cpit490project.util;
+
+/** Turns a model key into a RecyclerView stable id (64-bit FNV-1a). */
+public final class StableIds {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME  = 0x100000001b3L;
+
+    private StableIds() {}
+
+    public static long of(String key) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+}
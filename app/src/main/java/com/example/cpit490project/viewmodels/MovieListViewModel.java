@@ -0,0 +1,49 @@
+// app/src/main/java/com/example/cpit490project/viewmodels/MovieListViewModel.java
+package com.example.cpit490project.viewmodels;
+
+import android.app.Application;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.cpit490project.data.CatalogRepository;
+import com.example.cpit490project.models.Movie;
+
+import java.util.List;
+
+/**
+ * A chain's movie list that outlives configuration changes. A rotated screen
+ * gets the list it already had instead of downloading and parsing it again,
+ * and the load is only left (and cancelled, if nobody else shares it) once
+ * the screen is finished for good.
+ */
+public class MovieListViewModel extends AndroidViewModel {
+    private final MutableLiveData<List<Movie>> movies = new MutableLiveData<>();
+    @Nullable private String chain;
+    @Nullable private CatalogRepository.Subscription subscription;
+
+    public MovieListViewModel(@NonNull Application app) {
+        super(app);
+    }
+
+    /** Starts loading {@code chain} on the first call; later calls just return the list. */
+    @MainThread
+    public LiveData<List<Movie>> movies(String chain) {
+        if (!chain.equals(this.chain)) {
+            if (subscription != null) subscription.cancel();
+            this.chain = chain;
+            subscription = CatalogRepository.get(getApplication())
+                    .loadMovies(chain, (items, fromCache) -> movies.setValue(items));
+        }
+        return movies;
+    }
+
+    @Override
+    protected void onCleared() {
+        if (subscription != null) subscription.cancel();
+    }
+}
@@ -0,0 +1,262 @@
+// app/src/main/java/com/example/cpit490project/views/TimeSlotView.java
+package com.example.cpit490project.views;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.Button;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.example.cpit490project.R;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Draws a row's showtimes as wrapping "pill" slots and hit-tests taps itself,
+ * so binding a showtime row is just {@link #setTimes} - no child views.
+ * Slot geometry lives in arrays that only grow, so once they are big enough
+ * for the longest row, rebinding allocates nothing. Each slot is also a
+ * virtual accessibility node, so TalkBack and switch access can reach and
+ * click it like a button.
+ */
+public class TimeSlotView extends View {
+
+    public interface OnSlotClickListener {
+        void onSlotClick(TimeSlotView view, int index);
+    }
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint slotPaint     = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final int   slotColor;
+    private final int   pressedColor;
+
+    private final float padH, padV, gap, radius;
+
+    private List<String> times = Collections.emptyList();
+    // left/top of each slot plus its width, filled in onMeasure
+    private float[] lefts  = new float[8];
+    private float[] tops   = new float[8];
+    private float[] widths = new float[8];
+    private float   slotHeight;
+
+    private int pressed = -1;
+    private int clicked = -1;
+    @Nullable private OnSlotClickListener listener;
+
+    private final SlotAccessibility accessibility;
+
+    public TimeSlotView(Context ctx) {
+        this(ctx, null);
+    }
+
+    public TimeSlotView(Context ctx, @Nullable AttributeSet attrs) {
+        super(ctx, attrs);
+        slotColor    = ContextCompat.getColor(ctx, R.color.time_slot);
+        pressedColor = ContextCompat.getColor(ctx, R.color.time_slot_pressed);
+
+        textPaint.setColor(ContextCompat.getColor(ctx, R.color.white));
+        textPaint.setTextSize(sp(12));
+
+        padH   = dp(12);
+        padV   = dp(8);
+        gap    = dp(8);
+        radius = dp(4);
+        setClickable(true);
+
+        accessibility = new SlotAccessibility(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibility);
+    }
+
+    public void setTimes(List<String> times) {
+        this.times = times;
+        pressed = -1;
+        requestLayout();
+        invalidate();
+        accessibility.invalidateRoot();
+    }
+
+    public void setOnSlotClickListener(@Nullable OnSlotClickListener l) {
+        listener = l;
+    }
+
+    @Override
+    protected void onMeasure(int widthSpec, int heightSpec) {
+        int n = times.size();
+        if (lefts.length < n) {
+            int cap = Math.max(n, lefts.length * 2);
+            lefts  = new float[cap];
+            tops   = new float[cap];
+            widths = new float[cap];
+        }
+
+        int maxWidth = MeasureSpec.getMode(widthSpec) == MeasureSpec.UNSPECIFIED
+                ? Integer.MAX_VALUE
+                : MeasureSpec.getSize(widthSpec);
+        float right = maxWidth - getPaddingRight();
+        slotHeight  = textPaint.getFontSpacing() + 2 * padV;
+
+        float x = getPaddingLeft(), y = getPaddingTop(), used = 0;
+        for (int i = 0; i < n; i++) {
+            float w = textPaint.measureText(times.get(i)) + 2 * padH;
+            if (x + w > right && x > getPaddingLeft()) {  // wrap to the next line
+                x = getPaddingLeft();
+                y += slotHeight + gap;
+            }
+            lefts[i]  = x;
+            tops[i]   = y;
+            widths[i] = w;
+            x += w + gap;
+            used = Math.max(used, x - gap);
+        }
+
+        int w = MeasureSpec.getMode(widthSpec) == MeasureSpec.EXACTLY
+                ? maxWidth
+                : (int) Math.ceil(Math.min(used + getPaddingRight(), maxWidth));
+        int h = (int) Math.ceil((n == 0 ? getPaddingTop() : y + slotHeight) + getPaddingBottom());
+        setMeasuredDimension(w, resolveSize(h, heightSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        float baselineOffset = padV - textPaint.ascent();
+        for (int i = 0, n = times.size(); i < n; i++) {
+            slotPaint.setColor(i == pressed ? pressedColor : slotColor);
+            canvas.drawRoundRect(lefts[i], tops[i], lefts[i] + widths[i], tops[i] + slotHeight,
+                    radius, radius, slotPaint);
+            canvas.drawText(times.get(i), lefts[i] + padH, tops[i] + baselineOffset, textPaint);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                pressed = slotAt(e.getX(), e.getY());
+                invalidate();
+                return pressed >= 0;
+            case MotionEvent.ACTION_UP:
+                if (pressed >= 0 && pressed == slotAt(e.getX(), e.getY())) {
+                    clicked = pressed;
+                    performClick();
+                }
+                pressed = -1;
+                invalidate();
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                pressed = -1;
+                invalidate();
+                return true;
+            default:
+                return pressed >= 0;
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        boolean handled = super.performClick();
+        if (clicked >= 0) {
+            accessibility.sendEventForVirtualView(clicked, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            if (listener != null) {
+                listener.onSlotClick(this, clicked);
+                handled = true;
+            }
+        }
+        clicked = -1;
+        return handled;
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent e) {
+        return accessibility.dispatchHoverEvent(e) || super.dispatchHoverEvent(e);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent e) {
+        return accessibility.dispatchKeyEvent(e) || super.dispatchKeyEvent(e);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocused) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocused);
+        accessibility.onFocusChanged(gainFocus, direction, previouslyFocused);
+    }
+
+    private int slotAt(float x, float y) {
+        for (int i = 0, n = times.size(); i < n; i++) {
+            if (x >= lefts[i] && x <= lefts[i] + widths[i]
+                    && y >= tops[i] && y <= tops[i] + slotHeight) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // One virtual node per slot, at the bounds onMeasure laid out
+    private final class SlotAccessibility extends ExploreByTouchHelper {
+        private final Rect bounds = new Rect();
+
+        SlotAccessibility(View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int i = slotAt(x, y);
+            return i >= 0 ? i : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> ids) {
+            for (int i = 0, n = times.size(); i < n; i++) ids.add(i);
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int id, @NonNull AccessibilityNodeInfoCompat node) {
+            // a stale id (the row was rebound) still needs bounds, or the helper throws
+            boolean live = id < times.size();
+            node.setText(live ? times.get(id) : "");
+            node.setClassName(Button.class.getName());
+            if (live) {
+                bounds.set((int) lefts[id], (int) tops[id],
+                        (int) Math.ceil(lefts[id] + widths[id]), (int) Math.ceil(tops[id] + slotHeight));
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+                node.setClickable(true);
+            } else {
+                bounds.setEmpty();
+            }
+            node.setBoundsInParent(bounds);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int id, int action, @Nullable Bundle args) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK || id >= times.size()) return false;
+            clicked = id;
+            performClick();
+            return true;
+        }
+    }
+
+    private float dp(float v) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, v, getResources().getDisplayMetrics());
+    }
+
+    private float sp(float v) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, v, getResources().getDisplayMetrics());
+    }
+}
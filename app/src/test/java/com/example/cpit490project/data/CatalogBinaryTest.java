@@ -0,0 +1,102 @@
+package com.example.cpit490project.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Showtime;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CatalogBinaryTest {
+    // backend/catalogCodec.js encode("movies", {seq: 9, since: 5, delta: true,
+    //   movies: [{_id: "b", Title: "Heat (2025)"}, {_id: "d", Title: "Jaws"}], deleted: ["a"]})
+    // (both movies in card view, English, playing in Riyadh)
+    private static final byte[] DELTA = bytes(
+            65, 67, 66, 1, 1, 9, 1, 5, 8, 0, 7, 69, 110, 103, 108, 105, 115, 104, 6, 82, 105, 121,
+            97, 100, 104, 1, 98, 11, 72, 101, 97, 116, 32, 40, 50, 48, 50, 53, 41, 1, 100, 4, 74,
+            97, 119, 115, 1, 97, 2, 3, 4, 0, 1, 0, 1, 2, 0, 5, 6, 0, 1, 0, 1, 2, 0, 1, 7);
+
+    private static byte[] bytes(int... values) {
+        byte[] out = new byte[values.length];
+        for (int i = 0; i < values.length; i++) out[i] = (byte) values[i];
+        return out;
+    }
+
+    private static Movie movie(String id, String title, List<Showtime> timings) {
+        Movie m = new Movie(title, "https://img/" + id, "English", "", timings);
+        m.id     = id;
+        m.cities = new ArrayList<>();
+        return m;
+    }
+
+    private static List<Showtime> timings(String city) {
+        return Arrays.asList(
+                new Showtime("2025-05-01", city, "Mall", "IMAX", Arrays.asList("13:00", "21:15")),
+                new Showtime("2025-05-01", city, "Mall", "Standard", Collections.singletonList("21:15")));
+    }
+
+    @Test
+    public void roundTripsFullAndCardMovies() throws Exception {
+        List<Movie> in = Arrays.asList(
+                movie("a", "Dune", timings("Riyadh")),
+                movie("b", "Heat", null));
+        byte[] body = CatalogBinary.encodeMovies(7, in);
+
+        List<Movie> out = CatalogBinary.decodeMovies(body, "vox", null);
+        assertEquals(2, out.size());
+        Movie dune = out.get(0);
+        assertEquals("a", dune.id);
+        assertEquals("vox", dune.chain);
+        assertEquals("Dune", dune.title);
+        assertEquals("https://img/a", dune.imageUrl);
+        assertEquals(Collections.singletonList("Riyadh"), dune.cities);  // derived from the rows
+        assertEquals(2, dune.timings.size());
+        assertEquals("IMAX", dune.timings.get(0).experience);
+        assertEquals(Arrays.asList("13:00", "21:15"), dune.timings.get(0).times);
+        assertNull(out.get(1).timings);  // card view stays without timings
+
+        assertEquals(7, CatalogBinary.peek(body).seq);
+        assertFalse(CatalogBinary.peek(body).delta);
+    }
+
+    @Test
+    public void mergeKeepsPositionsAndDropsDeleted() throws Exception {
+        byte[] base = CatalogBinary.encodeMovies(5, Arrays.asList(
+                movie("a", "Dune", null), movie("b", "Heat", null), movie("c", "Up", null)));
+        byte[] delta = DELTA;
+        assertTrue(CatalogBinary.peek(delta).delta);
+
+        byte[] merged = CatalogBinary.merge(base, delta);
+        List<Movie> out = CatalogBinary.decodeMovies(merged, "vox", null);
+        assertEquals(3, out.size());
+        assertEquals("Heat (2025)", out.get(0).title);
+        assertEquals("Up", out.get(1).title);
+        assertEquals("Jaws", out.get(2).title);
+        assertEquals(9, CatalogBinary.peek(merged).seq);
+        assertEquals(Collections.singletonList("Riyadh"), out.get(2).cities);
+    }
+
+    @Test
+    public void rejectsOtherBodies() {
+        try {
+            CatalogBinary.decodeMovies("{\"movies\":[]}".getBytes(), "vox", null);
+            fail();
+        } catch (IOException expected) { }
+        byte[] truncated = Arrays.copyOf(CatalogBinary.encodeMovies(1,
+                Collections.singletonList(movie("a", "Dune", timings("Jeddah")))), 20);
+        try {
+            CatalogBinary.decodeMovies(truncated, "vox", null);
+            fail();
+        } catch (IOException expected) { }
+    }
+}
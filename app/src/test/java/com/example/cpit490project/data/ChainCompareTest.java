@@ -0,0 +1,24 @@
+package com.example.cpit490project.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class ChainCompareTest {
+
+    @Test
+    public void matchKeyIgnoresSpellingAndYear() {
+        assertEquals(ChainCompare.matchKey("Heat"), ChainCompare.matchKey("HEAT (2025)"));
+        assertEquals(ChainCompare.matchKey("Spider-Man: No Way Home"),
+                ChainCompare.matchKey("spider man   no way home"));
+        assertEquals(ChainCompare.matchKey("Amélie"), ChainCompare.matchKey("Amelie"));
+    }
+
+    @Test
+    public void matchKeyKeepsNumbersInTheTitle() {
+        assertEquals("blade runner 2049", ChainCompare.matchKey("Blade Runner 2049 (2017)"));
+        assertEquals("blade runner 2049", ChainCompare.matchKey("Blade Runner 2049"));
+        assertNotEquals(ChainCompare.matchKey("Moana 2"), ChainCompare.matchKey("Moana"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cpit490project.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class MovieDeltaTest {
+    private static final String BASE = "{\"seq\":5,\"count\":3,\"movies\":["
+            + "{\"_id\":\"a\",\"Title\":\"Dune\"},"
+            + "{\"_id\":{\"$oid\":\"b\"},\"Title\":\"Heat\"},"
+            + "{\"_id\":\"c\",\"Title\":\"Up\"}]}";
+
+    @Test
+    public void mergeReplacesInPlaceAppendsAndDeletes() throws Exception {
+        String delta = "{\"seq\":9,\"since\":5,\"delta\":true,\"count\":2,\"movies\":["
+                + "{\"_id\":\"b\",\"Title\":\"Heat (2025)\"},"
+                + "{\"_id\":\"d\",\"Title\":\"Jaws\"}],\"deleted\":[\"a\"]}";
+
+        JSONObject out = new JSONObject(MovieDelta.merge(BASE, delta));
+        assertEquals(9, out.getLong("seq"));
+        assertEquals(3, out.getInt("count"));
+        JSONArray movies = out.getJSONArray("movies");
+        assertEquals("Heat (2025)", movies.getJSONObject(0).getString("Title"));
+        assertEquals("Up", movies.getJSONObject(1).getString("Title"));
+        assertEquals("Jaws", movies.getJSONObject(2).getString("Title"));
+    }
+
+    @Test
+    public void emptyDelta() throws Exception {
+        assertTrue(MovieDelta.isEmpty("{\"seq\":5,\"delta\":true,\"movies\":[],\"deleted\":[]}"));
+        assertFalse(MovieDelta.isEmpty("{\"seq\":6,\"delta\":true,\"movies\":[],\"deleted\":[\"a\"]}"));
+    }
+
+    @Test
+    public void sinceIsAppendedToEitherUrlShape() {
+        assertEquals("/movies/parent/vox?view=card&since=7",
+                MovieDelta.withSince("/movies/parent/vox?view=card", 7));
+        assertEquals("/movies/parent/vox?since=7", MovieDelta.withSince("/movies/parent/vox", 7));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.cpit490project.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.cpit490project.data.NextShowingsEngine.Showing;
+import com.example.cpit490project.models.Movie;
+import com.example.cpit490project.models.Showtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+public class NextShowingsEngineTest {
+    private static final String FRI = "2025-05-09";
+
+    private static Movie movie(String chain, String title, Showtime... timings) {
+        Movie m = new Movie(title, "", "EN", "", Arrays.asList(timings));
+        m.chain = chain;
+        return m;
+    }
+
+    private static Showtime show(String date, String city, String place, String... times) {
+        return new Showtime(date, city, place, "Standard", Arrays.asList(times));
+    }
+
+    @Test
+    public void parsesClockFormats() {
+        assertEquals(21 * 60 + 15, NextShowingsEngine.parseTime("21:15"));
+        assertEquals(21 * 60 + 15, NextShowingsEngine.parseTime("9:15 PM"));
+        assertEquals(9 * 60 + 15, NextShowingsEngine.parseTime("09:15am"));
+        assertEquals(12 * 60, NextShowingsEngine.parseTime("12:00 PM"));
+        // after midnight counts as the same cinema day
+        assertEquals(24 * 60 + 30, NextShowingsEngine.parseTime("12:30 AM"));
+        assertEquals(-1, NextShowingsEngine.parseTime("soon"));
+        assertEquals(-1, NextShowingsEngine.parseTime("25:00"));
+    }
+
+    @Test
+    public void mergesAcrossChainsInTimeOrder() {
+        NextShowingsEngine e = new NextShowingsEngine();
+        e.updateChain("vox", Arrays.asList(
+                movie("vox", "Dune", show("2025-05-09", "Riyadh", "Mall A", "6:00 PM", "9:00 PM", "11:30 PM")),
+                movie("vox", "Heat", show("2025-05-09", "Jeddah", "Mall B", "7:00 PM"))));
+        e.updateChain("amc", Arrays.asList(
+                movie("amc", "Up", show("2025-05-09", "Riyadh", "Park", "19:30", "12:15 AM"),
+                        show("2025-05-10", "Riyadh", "Park", "18:10"))));
+
+        List<String> got = new ArrayList<>();
+        for (Showing s : e.next(FRI, "Riyadh", 18 * 60, 24 * 60 + 60, 10)) {
+            got.add(s.time() + " " + s.movie.title);
+        }
+        // Saturday is not today, Jeddah is another city
+        assertEquals(Arrays.asList("18:00 Dune", "19:30 Up", "21:00 Dune", "23:30 Dune", "00:15 Up"), got);
+
+        assertEquals(2, e.next(FRI, "Riyadh", 18 * 60 + 1, 22 * 60, 10).size());
+        assertEquals(1, e.next(FRI, "Riyadh", 0, 24 * 60 * 2, 1).size());
+        assertEquals(Arrays.asList("Jeddah", "Riyadh"), e.cities(FRI));
+    }
+
+    @Test
+    public void updateReplacesChain() {
+        NextShowingsEngine e = new NextShowingsEngine();
+        e.updateChain("vox", Arrays.asList(movie("vox", "Dune", show("2025-05-09", "Riyadh", "A", "20:00"))));
+        e.updateChain("vox", Arrays.asList(movie("vox", "Heat", show("2025-05-09", "Dammam", "B", "20:00"))));
+        assertTrue(e.next(FRI, "Riyadh", 0, 48 * 60, 10).isEmpty());
+        assertEquals("Heat", e.next(FRI, "Dammam", 0, 48 * 60, 10).get(0).movie.title);
+    }
+
+    @Test
+    public void answersForTheAskedDayOnly() {
+        NextShowingsEngine e = new NextShowingsEngine();
+        // a list that starts with tomorrow, and one that has no showing today at all
+        e.updateChain("vox", Arrays.asList(
+                movie("vox", "Dune", show("2025-05-10", "Riyadh", "A", "20:00"),
+                        show(FRI, "Riyadh", "A", "21:00")),
+                movie("vox", "Heat", show("2025-05-10", "Riyadh", "B", "19:00"))));
+
+        List<Showing> got = e.next(FRI, "Riyadh", 0, 48 * 60, 10);
+        assertEquals(1, got.size());
+        assertEquals("21:00 Dune", got.get(0).time() + " " + got.get(0).movie.title);
+        assertTrue(e.next("2025-05-08", "Riyadh", 0, 48 * 60, 10).isEmpty());
+    }
+
+    @Test
+    public void cinemaDayStartsAtFive() {
+        Calendar c = Calendar.getInstance();
+        c.set(2025, Calendar.MAY, 10, 1, 30);
+        assertEquals(FRI, NextShowingsEngine.cinemaDay(c));
+        c.set(2025, Calendar.MAY, 10, 5, 0);
+        assertEquals("2025-05-10", NextShowingsEngine.cinemaDay(c));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.cpit490project.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.cpit490project.models.Showtime;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ShowtimeIndexTest {
+    private static Showtime show(String date, String city, String place) {
+        return new Showtime(date, city, place, "Standard", Collections.singletonList("9:00 PM"));
+    }
+
+    @Test
+    public void keepsCityAndDateOrder() {
+        ShowtimeIndex idx = ShowtimeIndex.build(Arrays.asList(
+                show("Fri", "Riyadh", "A"),
+                show("Fri", "Jeddah", "B"),
+                show("Sat", "Riyadh", "C"),
+                show("Sun", "Jeddah", "D")
+        ));
+        assertEquals(Arrays.asList("Riyadh", "Jeddah"), idx.cities());
+        assertEquals(Arrays.asList("Fri", "Sat"), idx.dates("Riyadh"));
+        assertEquals(Arrays.asList("Fri", "Sun"), idx.dates("Jeddah"));
+    }
+
+    @Test
+    public void looksUpShowtimesByCityAndDate() {
+        ShowtimeIndex idx = ShowtimeIndex.build(Arrays.asList(
+                show("Fri", "Riyadh", "A"),
+                show("Fri", "Riyadh", "B"),
+                show("Sat", "Riyadh", "C")
+        ));
+        List<Showtime> fri = idx.showtimes("Riyadh", "Fri");
+        assertEquals(2, fri.size());
+        assertEquals("B", fri.get(1).place);
+        assertTrue(idx.showtimes("Dammam", "Fri").isEmpty());
+        assertTrue(idx.dates("Dammam").isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.cpit490project.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class HistogramTest {
+    @Test
+    public void percentilesAreWithinOneBucket() {
+        Histogram h = new Histogram();
+        for (int ms = 1; ms <= 1000; ms++) h.recordMicros(ms * 1000L);
+
+        assertEquals(1000, h.count());
+        assertEquals(500.5, h.meanMillis(), 0.01);
+        assertEquals(1000, h.maxMillis(), 0.0);
+        // buckets are 5% wide and report their upper bound
+        assertEquals(500, h.percentileMillis(50), 500 * 0.05);
+        assertEquals(950, h.percentileMillis(95), 950 * 0.05);
+        assertEquals(990, h.percentileMillis(99), 990 * 0.05);
+        assertEquals(1000, h.percentileMillis(100), 0.0);  // capped at the real max
+
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentileMillis(50), 0.0);
+    }
+
+    @Test
+    public void serverTimingHeader() {
+        assertEquals(12300, Metrics.serverMicros("app;dur=12.3"));
+        assertEquals(4000, Metrics.serverMicros("db;dur=1, app;desc=\"handler\";dur=4"));
+        assertEquals(-1, Metrics.serverMicros("db;dur=1"));
+        assertEquals(-1, Metrics.serverMicros("app;dur=abc"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.cpit490project.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TimetableTest {
+
+    @Test
+    public void rowsKeepTheirOwnTimes() {
+        Timetable t = new Timetable.Builder()
+                .row("2025-05-01", "Riyadh", "Mall", "IMAX").time("18:00").time("21:15")
+                .row("2025-05-01", "Jeddah", "Red Sea", "2D")
+                .row("2025-05-02", "Riyadh", "Mall", "2D").times(Arrays.asList("12:30"))
+                .build();
+
+        assertEquals(3, t.size());
+        assertEquals(Arrays.asList("18:00", "21:15"), t.get(0).times);
+        assertEquals(Collections.emptyList(), t.get(1).times);
+        assertEquals(Arrays.asList("12:30"), t.get(2).times);
+        assertEquals("Jeddah", t.get(1).city);
+        assertEquals("2D", t.get(2).experience);
+        assertEquals(t.cityCode(0), t.cityCode(2));
+    }
+
+    @Test
+    public void fillAppliesToTheRunOnly() {
+        Timetable.Builder b = new Timetable.Builder();
+        b.row("", "", "", "IMAX").time("18:00");
+        b.fillPlace(0, "Riyadh", "Mall");
+        int run = b.size();
+        b.row("", "", "", "2D").time("19:00");
+        b.fillPlace(run, "Jeddah", "Red Sea");
+        b.fillDate(0, "2025-05-01");
+        Timetable t = b.build();
+
+        assertEquals("Riyadh", t.get(0).city);
+        assertEquals("Red Sea", t.get(1).place);
+        assertEquals("2025-05-01", t.get(1).date);
+    }
+
+    @Test
+    public void stringsAreShared() {
+        Timetable a = new Timetable.Builder().row("d", new String("Riyadh"), "p", "e").build();
+        Timetable b = new Timetable.Builder().row("d", new String("Riyadh"), "p", "e").build();
+        assertSame(a.get(0).city, b.get(0).city);
+        assertTrue(CatalogStrings.code("") == 0);
+    }
+}
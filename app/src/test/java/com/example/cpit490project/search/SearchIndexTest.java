@@ -0,0 +1,78 @@
+package com.example.cpit490project.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.cpit490project.models.Movie;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SearchIndexTest {
+    private static Movie movie(String chain, String title, String lang, String... cities) {
+        Movie m = new Movie(title, "", lang, "", null);
+        m.id     = title + "-" + lang;  // stands in for the backend _id
+        m.chain  = chain;
+        m.cities = Arrays.asList(cities);
+        return m;
+    }
+
+    private static List<String> titles(List<Movie> movies) {
+        String[] out = new String[movies.size()];
+        for (int i = 0; i < out.length; i++) out[i] = movies.get(i).chain + "/" + movies.get(i).title;
+        return Arrays.asList(out);
+    }
+
+    @Test
+    public void matchesPrefixesAcrossChains() {
+        SearchIndex idx = new SearchIndex();
+        idx.updateChain("vox", Arrays.asList(movie("vox", "Spider-Man: No Way Home", "EN", "Riyadh")));
+        idx.updateChain("amc", Arrays.asList(
+                movie("amc", "Spider-Man: No Way Home", "EN", "Jeddah"),
+                movie("amc", "Dune", "EN", "Jeddah")));
+
+        assertEquals(Arrays.asList("amc/Spider-Man: No Way Home", "vox/Spider-Man: No Way Home"),
+                titles(idx.search("spider ma", null, null, 10)));
+        assertEquals(Collections.singletonList("amc/Dune"), titles(idx.search("du", null, null, 10)));
+    }
+
+    @Test
+    public void toleratesOneTypoInTheLastWord() {
+        SearchIndex idx = new SearchIndex();
+        idx.updateChain("vox", Arrays.asList(movie("vox", "Oppenheimer", "EN")));
+
+        assertEquals(1, idx.search("opennheim", null, null, 10).size());  // substitution
+        assertEquals(1, idx.search("openh", null, null, 10).size());      // missing letter
+        assertTrue(idx.search("xyzzy", null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void filtersByFacets() {
+        SearchIndex idx = new SearchIndex();
+        idx.updateChain("vox", Arrays.asList(
+                movie("vox", "Dune", "EN", "Riyadh"),
+                movie("vox", "Dune", "AR", "Jeddah")));
+        // same title twice in one chain (two languages): both are indexed
+        assertEquals(2, idx.size());
+        assertEquals(1, idx.search("dune", "AR", null, 10).size());
+
+        idx.updateChain("muvi", Arrays.asList(movie("muvi", "Dune Part Two", "EN", "Riyadh")));
+        assertEquals(1, idx.search("dune", null, "Jeddah", 10).size());
+        assertEquals(2, idx.search("dune", "EN", null, 10).size());
+        assertEquals(Arrays.asList("Jeddah", "Riyadh"), idx.cities());
+    }
+
+    @Test
+    public void updatesChainsIncrementally() {
+        SearchIndex idx = new SearchIndex();
+        idx.updateChain("vox", Arrays.asList(movie("vox", "Dune", "EN"), movie("vox", "Barbie", "EN")));
+        idx.updateChain("vox", Arrays.asList(movie("vox", "Barbie", "EN")));
+
+        assertTrue(idx.search("dune", null, null, 10).isEmpty());
+        assertEquals(1, idx.search("barb", null, null, 10).size());
+        assertEquals("spider man no way home", SearchIndex.normalizedTitle("Spider-Man: No Way Home"));
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Compact binary encoding of the catalog responses
+ * Served instead of JSON when the client sends Accept: application/vnd.aflam.catalog.
+ *
+ * Every string (ids, titles, cities, places, experiences, dates, times) is stored once
+ * in a table sorted by how often it is used, and referenced by its index everywhere
+ * else, so "Riyadh" or "21:15" cost one byte per use instead of the string and its key.
+ *
+ * Layout (all integers are unsigned LEB128 varints, strings are UTF-8):
+ *   "ACB" 0x01                      magic + format version
+ *   kind                            1 movie list, 2 timings, 3 offers
+ *   seq  flags  [since]             version header; flags bit 0 = delta, since only if delta
+ *   n  (len bytes)*n                string table; index 0 is always ""
+ *   body                            by kind, see below
+ *
+ *   movie list:  n movie*n  [m ref*m deleted ids, only if delta]
+ *   movie:       ref id, title, image, language, showtimes url
+ *                n ref*n cities
+ *                rows+1 row*rows (0 = no Timings in this view)
+ *   row:         ref date, city, place, experience, n ref*n times
+ *   timings:     ref id, n row*n
+ *   offers:      n (ref image, title, url)*n
+ *
+ * Timings are sent flat, one row per date / city / place / experience, which is
+ * exactly what the app builds from the nested JSON.
+ */
+
+const CONTENT_TYPE = "application/vnd.aflam.catalog";
+
+const MAGIC = [0x41, 0x43, 0x42, 0x01]; // "ACB" + version 1
+const KIND = { movies: 1, timings: 2, offers: 3 };
+const FLAG_DELTA = 1;
+
+// Growable byte buffer
+class Writer {
+  constructor(size = 4096) {
+    this.buf = Buffer.allocUnsafe(size);
+    this.len = 0;
+  }
+
+  ensure(n) {
+    if (this.len + n <= this.buf.length) return;
+    const next = Buffer.allocUnsafe(Math.max(this.buf.length * 2, this.len + n));
+    this.buf.copy(next, 0, 0, this.len);
+    this.buf = next;
+  }
+
+  byte(b) {
+    this.ensure(1);
+    this.buf[this.len++] = b;
+  }
+
+  varint(n) {
+    // Plain arithmetic so values past 2^31 (never expected) still encode
+    n = Math.max(0, Math.floor(Number(n) || 0));
+    while (n >= 0x80) {
+      this.byte((n % 0x80) | 0x80);
+      n = Math.floor(n / 0x80);
+    }
+    this.byte(n);
+  }
+
+  bytes(b) {
+    this.ensure(b.length);
+    b.copy(this.buf, this.len);
+    this.len += b.length;
+  }
+
+  done() {
+    return this.buf.subarray(0, this.len);
+  }
+}
+
+function text(v) {
+  return v === undefined || v === null ? "" : String(v);
+}
+
+function list(v) {
+  return Array.isArray(v) ? v : [];
+}
+
+function writeRow(out, date, show, exp) {
+  out.str(date);
+  out.str(show.City);
+  out.str(show.Place);
+  out.str(exp.Experience);
+  const times = list(exp.Times);
+  out.num(times.length);
+  for (const t of times) out.str(t);
+}
+
+// Flattens Date > Showtimes > Experiences into [date, show, experience] rows
+function collectRows(days) {
+  const rows = [];
+  for (const day of list(days)) {
+    for (const show of list(day && day.Showtimes)) {
+      for (const exp of list(show && show.Experiences)) {
+        rows.push([text(day.Date), show || {}, exp || {}]);
+      }
+    }
+  }
+  return rows;
+}
+
+function writeMovie(out, doc) {
+  out.str(doc._id);
+  out.str(doc.Title);
+  out.str(doc["Image URL"]);
+  out.str(doc.Language);
+  out.str(doc["Showtimes URL"]);
+  const cities = list(doc.Cities);
+  out.num(cities.length);
+  for (const c of cities) out.str(c);
+  if (!("Timings" in doc)) {
+    out.num(0); // card view
+    return;
+  }
+  // rows + 1, so an empty Timings list is still told apart from none
+  const rows = collectRows(doc.Timings);
+  out.num(rows.length + 1);
+  for (const [date, show, exp] of rows) writeRow(out, date, show, exp);
+}
+
+/*
+ * The body is walked twice with the same code: once to count the strings, once to
+ * write. `out.str` gets every string and `out.num` every count, in output order.
+ */
+function writeBody(out, kind, payload) {
+  switch (kind) {
+    case "movies": {
+      const movies = list(payload.movies);
+      out.num(movies.length);
+      for (const m of movies) writeMovie(out, m);
+      if (payload.delta) {
+        const deleted = list(payload.deleted);
+        out.num(deleted.length);
+        for (const id of deleted) out.str(id);
+      }
+      break;
+    }
+    case "timings": {
+      out.str(payload.id);
+      const rows = collectRows(payload.Timings);
+      out.num(rows.length);
+      for (const [date, show, exp] of rows) writeRow(out, date, show, exp);
+      break;
+    }
+    case "offers": {
+      const offers = list(payload.offers);
+      out.num(offers.length);
+      for (const o of offers) {
+        out.str(o.offer_image);
+        out.str(o["offer title"]);
+        out.str(o["offer URL"]);
+      }
+      break;
+    }
+    default:
+      throw new Error(`Unknown catalog kind ${kind}`);
+  }
+}
+
+/**
+ * Encodes a response payload
+ * @param {string} kind - "movies" ({seq, since?, delta?, movies, deleted?}),
+ *                        "timings" ({id, Timings}) or "offers" ({offers})
+ * @param {object} payload - The object that would otherwise be sent with res.json
+ * @returns {Buffer}
+ */
+function encode(kind, payload) {
+  // Pass 1: how often each string is used
+  const uses = new Map();
+  writeBody({
+    str: v => {
+      const s = text(v);
+      uses.set(s, (uses.get(s) || 0) + 1);
+    },
+    num() {}
+  }, kind, payload);
+
+  // Most used first, so the common ones get one-byte indices
+  uses.delete("");
+  const table = [""].concat([...uses.entries()].sort((a, b) => b[1] - a[1]).map(e => e[0]));
+  const index = new Map(table.map((s, i) => [s, i]));
+
+  const w = new Writer();
+  for (const b of MAGIC) w.byte(b);
+  w.byte(KIND[kind]);
+  const delta = kind === "movies" && payload.delta === true;
+  w.varint(payload.seq || 0);
+  w.varint(delta ? FLAG_DELTA : 0);
+  if (delta) w.varint(payload.since);
+
+  w.varint(table.length);
+  for (const s of table) {
+    const b = Buffer.from(s, "utf8");
+    w.varint(b.length);
+    w.bytes(b);
+  }
+
+  // Pass 2: the body, with strings as table indices
+  writeBody({ str: v => w.varint(index.get(text(v))), num: n => w.varint(n) }, kind, payload);
+  return w.done();
+}
+
+module.exports = { CONTENT_TYPE, encode };
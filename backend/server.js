@@ -11,12 +11,33 @@ require("dotenv").config(); // Load environment variables from .env file
 const express = require("express");
 const mongoose = require("mongoose");
 const cors = require("cors"); 
+const crypto = require("crypto");
+const util = require("util");
+const zlib = require("zlib");
+const catalogCodec = require("./catalogCodec");
 
 // Initialize Express application
 const app = express();
 app.use(cors()); // Allows frontend to call the API
 app.use(express.json()); // Parses JSON request bodies
 
+/**
+ * Server-Timing header
+ * Reports how long the handler took (query + serialization) as
+ * "Server-Timing: app;dur=<ms>", so the app can split its time-to-first-byte
+ * into server time and network time.
+ */
+app.use((req, res, next) => {
+  const start = process.hrtime.bigint();
+  const writeHead = res.writeHead;
+  res.writeHead = function (...args) {
+    const ms = Number(process.hrtime.bigint() - start) / 1e6;
+    if (!res.headersSent) res.setHeader("Server-Timing", `app;dur=${ms.toFixed(1)}`);
+    return writeHead.apply(this, args);
+  };
+  next();
+});
+
 /**
  * MongoDB Connection
  * Connects to the MongoDB database using the connection string from environment variables.
@@ -30,6 +51,13 @@ mongoose.connect(process.env.MONGO_URI, {
 
     // Print all database objects on server start
     printAllDatabaseObjects();
+
+    // The chain lists query movies by Parent
+    mongoose.connection.db.collection("movies").createIndex({ Parent: 1 })
+      .catch(err => console.error("Error creating movies index:", err));
+
+    // Version the catalog for delta sync, then keep picking up outside writes
+    startMovieVersioning();
   })
   .catch(err => console.error("❌ MongoDB Connection Error:", err));
 
@@ -350,24 +378,292 @@ app.get("/print-collection/:collectionName", async (req, res) => {
   }
 });
 
+/**
+ * Catalog Responses
+ * Sends a catalog payload as JSON, or in the compact binary encoding from
+ * catalogCodec.js when the client prefers it (the app sends
+ * Accept: application/vnd.aflam.catalog, application/json;q=0.5).
+ * Browsers and older clients keep getting the same JSON as before.
+ * Bodies over GZIP_MIN_BYTES go out gzipped to clients that accept it, and every
+ * body carries a strong ETag, so a revalidation with If-None-Match gets a 304.
+ * @param {string} kind - "movies", "timings" or "offers"
+ * @param {object} payload - The response object
+ */
+const GZIP_MIN_BYTES = 1024;
+const gzip = util.promisify(zlib.gzip);
+
+async function sendCatalog(req, res, kind, payload) {
+  sendEncoded(req, res, await encodeCatalog(kind, payload, wantsBinary(req)));
+}
+
+function wantsBinary(req) {
+  return req.accepts(["application/json", catalogCodec.CONTENT_TYPE]) === catalogCodec.CONTENT_TYPE;
+}
+
+// Serializes (and compresses) a payload once: { type, body, gzipped, etag }
+async function encodeCatalog(kind, payload, binary) {
+  const body = binary ? catalogCodec.encode(kind, payload) : Buffer.from(JSON.stringify(payload), "utf8");
+  const etag = crypto.createHash("sha1").update(body).digest("base64url");
+  return {
+    type: binary ? catalogCodec.CONTENT_TYPE : "application/json; charset=utf-8",
+    body,
+    gzipped: body.length >= GZIP_MIN_BYTES ? await gzip(body) : null,
+    etag
+  };
+}
+
+function sendEncoded(req, res, encoded) {
+  res.vary("Accept");
+  res.vary("Accept-Encoding");
+  // each content coding is its own representation, so it gets its own validator
+  const useGzip = encoded.gzipped !== null && req.acceptsEncodings("gzip", "identity") === "gzip";
+  res.set("ETag", useGzip ? `"${encoded.etag}-gz"` : `"${encoded.etag}"`);
+  if (req.fresh) return res.status(304).end();
+
+  res.type(encoded.type);
+  if (useGzip) res.set("Content-Encoding", "gzip");
+  res.send(useGzip ? encoded.gzipped : encoded.body);
+}
+
+/**
+ * Catalog Cache
+ * The full chain lists and the offers change only when the catalog does, so their
+ * encoded responses are kept in memory for CATALOG_TTL_MS: a release-day burst is
+ * served without touching MongoDB, and concurrent misses share one query.
+ * Movie lists are dropped as soon as a PUT /movies/:id or a stamping run publishes
+ * a change; the TTL bounds how long outside writes (scrapers, other instances)
+ * can go unseen.
+ */
+const CATALOG_TTL_MS = Number(process.env.CATALOG_TTL_MS) || 60 * 1000;
+const catalogCache = new Map(); // "movies:Vox:card" -> { expires, payload, encoded: { json, binary } }
+
+/**
+ * Sends a cached catalog response, loading it on a miss
+ * @param {string} key - Cache key; starts with the kind ("movies:", "offers")
+ * @param {function} load - Returns a promise of the payload
+ */
+async function sendCachedCatalog(req, res, kind, key, load) {
+  const now = Date.now();
+  let entry = catalogCache.get(key);
+  if (!entry || entry.expires <= now) {
+    entry = { expires: now + CATALOG_TTL_MS, payload: load(), encoded: {} };
+    catalogCache.set(key, entry);
+    // a failed load is not kept; the next request tries again
+    entry.payload.catch(() => {
+      if (catalogCache.get(key) === entry) catalogCache.delete(key);
+    });
+  }
+
+  const binary = wantsBinary(req);
+  const format = binary ? "binary" : "json";
+  if (!entry.encoded[format]) {
+    entry.encoded[format] = entry.payload.then(payload => encodeCatalog(kind, payload, binary));
+    entry.encoded[format].catch(() => { delete entry.encoded[format]; });
+  }
+  sendEncoded(req, res, await entry.encoded[format]);
+}
+
+/**
+ * Drops cached responses whose key starts with `prefix` (all of them without one)
+ */
+function invalidateCatalog(prefix = "") {
+  for (const key of catalogCache.keys()) {
+    if (key.startsWith(prefix)) catalogCache.delete(key);
+  }
+}
+
+/**
+ * Card View Helpers
+ * The movie grid only needs a few fields per movie. With ?view=card the
+ * /movies/parent/* endpoints return just those (plus the cities a movie plays in,
+ * for search) and the app fetches the full timings per movie from /movies/:id/timings.
+ */
+const CARD_PROJECTION = {
+  Title: 1,
+  "Image URL": 1,
+  Language: 1,
+  "Showtimes URL": 1,
+  Parent: 1,
+  "Timings.Showtimes.City": 1
+};
+
+// Replaces the (City-only) Timings tree with a flat list of distinct cities
+function toCard(doc) {
+  const cities = new Set();
+  for (const day of doc.Timings || []) {
+    for (const show of day.Showtimes || []) {
+      if (show.City) cities.add(show.City);
+    }
+  }
+  const { Timings, ...card } = doc;
+  card.Cities = [...cities];
+  return card;
+}
+
+/**
+ * Finds all movies of one cinema chain
+ * @param {string} parent - Value of the Parent field (e.g. "Vox")
+ * @param {string} view - "card" for the lightweight list, anything else for full documents
+ */
+async function findMoviesByParent(parent, view) {
+  const movies = mongoose.connection.db.collection("movies");
+  if (view === "card") {
+    const docs = await movies.find({ Parent: parent }).project(CARD_PROJECTION).toArray();
+    return docs.map(toCard);
+  }
+  return movies.find({ Parent: parent }).toArray();
+}
+
+/**
+ * Full list of one chain as cached by the /movies/parent/* endpoints
+ * Reads the version first: anything stamped meanwhile is simply sent again in the next delta
+ */
+async function loadChainList(parent, view) {
+  const seq = await publishedSeq();
+  const movies = await findMoviesByParent(parent, view);
+  return { seq, count: movies.length, movies };
+}
+
+/**
+ * Catalog Versioning (delta sync)
+ * Every movie has a row in "movie_versions": { _id, ref, Parent, hash, seq, deleted }.
+ * stampMovieVersions() hashes each movie document and gives it a new seq (from the
+ * "counters" collection) when the hash changed, and a tombstone when the movie is gone,
+ * so documents written straight to MongoDB (e.g. by the scrapers) are picked up too.
+ * The /movies/parent/* lists carry the published seq; ?since=<seq> returns only the
+ * movies upserted or deleted after it.
+ */
+const STAMP_INTERVAL_MS = Number(process.env.STAMP_INTERVAL_MS) || 5 * 60 * 1000;
+let stampRun = null;
+
+function startMovieVersioning() {
+  const db = mongoose.connection.db;
+  db.collection("movie_versions").createIndex({ Parent: 1, seq: 1 })
+    .then(() => stampMovieVersions())
+    .catch(err => console.error("Error setting up movie versions:", err));
+  setInterval(() => {
+    stampMovieVersions().catch(err => console.error("Error stamping movie versions:", err));
+  }, STAMP_INTERVAL_MS).unref();
+}
+
+// Only one run at a time; concurrent callers share the one in progress
+function stampMovieVersions() {
+  if (!stampRun) {
+    stampRun = doStampMovieVersions().finally(() => { stampRun = null; });
+  }
+  return stampRun;
+}
+
+async function doStampMovieVersions() {
+  const db = mongoose.connection.db;
+  const versions = db.collection("movie_versions");
+
+  const known = new Map();
+  const rows = await versions.find({}, { projection: { hash: 1, deleted: 1, Parent: 1 } }).toArray();
+  for (const v of rows) known.set(v._id, v);
+
+  const changes = [];
+  for await (const doc of db.collection("movies").find({})) {
+    const id = String(doc._id);
+    const hash = crypto.createHash("sha1").update(JSON.stringify(doc)).digest("base64");
+    const v = known.get(id);
+    known.delete(id);
+    if (!v || v.deleted || v.hash !== hash) {
+      changes.push({ _id: id, ref: doc._id, Parent: doc.Parent, hash, deleted: false });
+    }
+    // moved to another chain: the old chain needs a tombstone as well
+    if (v && !v.deleted && v.Parent !== doc.Parent) {
+      changes.push({ _id: id, Parent: v.Parent, hash: null, deleted: true, moved: true });
+    }
+  }
+  for (const [id, v] of known) {
+    if (!v.deleted) changes.push({ _id: id, Parent: v.Parent, hash: null, deleted: true });
+  }
+  if (changes.length === 0) return;
+
+  // Reserve one seq per change in a single round trip
+  const counter = await db.collection("counters").findOneAndUpdate(
+    { _id: "movies" },
+    { $inc: { seq: changes.length } },
+    { upsert: true, returnDocument: "after" }
+  );
+  let seq = counter.seq - changes.length;
+
+  const ops = [];
+  for (const c of changes) {
+    seq++;
+    if (c.moved) {
+      // the live row keeps the movie's id; tombstones for old chains get their own
+      ops.push({ replaceOne: {
+        filter: { _id: `${c._id}@${c.Parent}` },
+        replacement: { ref: c._id, Parent: c.Parent, hash: null, seq, deleted: true },
+        upsert: true
+      } });
+      continue;
+    }
+    const { _id, ...row } = c;
+    ops.push({ replaceOne: { filter: { _id }, replacement: { ...row, seq }, upsert: true } });
+  }
+  await versions.bulkWrite(ops, { ordered: false });
+
+  // Only now can clients see the new seq, so a delta never skips a half-written run
+  await db.collection("counters").updateOne({ _id: "movies" }, { $set: { published: counter.seq } });
+  invalidateCatalog("movies:");
+  console.log(`Stamped ${changes.length} movie changes, catalog seq ${counter.seq}`);
+}
+
+async function publishedSeq() {
+  const counter = await mongoose.connection.db.collection("counters").findOne({ _id: "movies" });
+  return (counter && counter.published) || 0;
+}
+
+/**
+ * Movies of one chain that changed after version `since`
+ * Falls back to the full list when `since` is not a version this server issued
+ * (bad value, or the database was reset since the client last synced).
+ * @param {string} parent - Value of the Parent field (e.g. "Vox")
+ * @param {string} view - "card" for the lightweight fields, anything else for full documents
+ * @param {string} sinceParam - Raw ?since= value
+ */
+async function findMovieChanges(parent, view, sinceParam) {
+  const seq = await publishedSeq();
+  const since = Number(sinceParam);
+  if (!Number.isInteger(since) || since <= 0 || since > seq) {
+    const movies = await findMoviesByParent(parent, view);
+    return { seq, count: movies.length, movies };
+  }
+
+  const db = mongoose.connection.db;
+  const changed = await db.collection("movie_versions")
+    .find({ Parent: parent, seq: { $gt: since, $lte: seq } })
+    .toArray();
+  const deleted = changed.filter(v => v.deleted).map(v => String(v.ref || v._id));
+  const refs = changed.filter(v => !v.deleted).map(v => v.ref);
+
+  let movies = [];
+  if (refs.length > 0) {
+    const query = { _id: { $in: refs }, Parent: parent };
+    movies = view === "card"
+      ? (await db.collection("movies").find(query).project(CARD_PROJECTION).toArray()).map(toCard)
+      : await db.collection("movies").find(query).toArray();
+  }
+  return { seq, since, delta: true, count: movies.length, movies, deleted };
+}
+
 /**
  * Get Empire Movies Endpoint
  * Returns all movies associated with the "Empire" cinema chain
  */
 app.get("/movies/parent/empire", async (req, res) => {
   try {
-    // Find all movies where Parent field is "Empire"
-    const empireMovies = await mongoose.connection.db.collection("movies").find({ Parent: "Empire" }).toArray();
-
-    // Log the results
-    console.log(`Found ${empireMovies.length} movies with Parent = "Empire"`);
-    console.log(JSON.stringify(empireMovies, null, 2));
+    // ?since=<seq>: only the movies that changed after that version
+    if (req.query.since !== undefined) {
+      return await sendCatalog(req, res, "movies", await findMovieChanges("Empire", req.query.view, req.query.since));
+    }
 
-    // Return the movies
-    res.json({
-      count: empireMovies.length,
-      movies: empireMovies
-    });
+    // All movies where Parent is "Empire" (?view=card for the grid fields only), from memory when cached
+    const view = req.query.view === "card" ? "card" : "full";
+    await sendCachedCatalog(req, res, "movies", `movies:Empire:${view}`, () => loadChainList("Empire", view));
   } catch (error) {
     console.error("Error fetching movies with Parent = Empire:", error);
     res.status(500).json({ error: "Server Error", details: error.message });
@@ -380,18 +676,14 @@ app.get("/movies/parent/empire", async (req, res) => {
  */
 app.get("/movies/parent/amc", async (req, res) => {
   try {
-    // Find all movies where Parent field is "AMC"
-    const amcMovies = await mongoose.connection.db.collection("movies").find({ Parent: "AMC" }).toArray();
-
-    // Log the results
-    console.log(`Found ${amcMovies.length} movies with Parent = "AMC"`);
-    console.log(JSON.stringify(amcMovies, null, 2));
+    // ?since=<seq>: only the movies that changed after that version
+    if (req.query.since !== undefined) {
+      return await sendCatalog(req, res, "movies", await findMovieChanges("AMC", req.query.view, req.query.since));
+    }
 
-    // Return the movies
-    res.json({
-      count: amcMovies.length,
-      movies: amcMovies
-    });
+    // All movies where Parent is "AMC" (?view=card for the grid fields only), from memory when cached
+    const view = req.query.view === "card" ? "card" : "full";
+    await sendCachedCatalog(req, res, "movies", `movies:AMC:${view}`, () => loadChainList("AMC", view));
   } catch (error) {
     console.error("Error fetching movies with Parent = AMC:", error);
     res.status(500).json({ error: "Server Error", details: error.message });
@@ -404,18 +696,14 @@ app.get("/movies/parent/amc", async (req, res) => {
  */
 app.get("/movies/parent/vox", async (req, res) => {
   try {
-    // Find all movies where Parent field is "Vox"
-    const voxMovies = await mongoose.connection.db.collection("movies").find({ Parent: "Vox" }).toArray();
-
-    // Log the results
-    console.log(`Found ${voxMovies.length} movies with Parent = "Vox"`);
-    console.log(JSON.stringify(voxMovies, null, 2));
+    // ?since=<seq>: only the movies that changed after that version
+    if (req.query.since !== undefined) {
+      return await sendCatalog(req, res, "movies", await findMovieChanges("Vox", req.query.view, req.query.since));
+    }
 
-    // Return the movies
-    res.json({
-      count: voxMovies.length,
-      movies: voxMovies
-    });
+    // All movies where Parent is "Vox" (?view=card for the grid fields only), from memory when cached
+    const view = req.query.view === "card" ? "card" : "full";
+    await sendCachedCatalog(req, res, "movies", `movies:Vox:${view}`, () => loadChainList("Vox", view));
   } catch (error) {
     console.error("Error fetching movies with Parent = Vox:", error);
     res.status(500).json({ error: "Server Error", details: error.message });
@@ -428,18 +716,14 @@ app.get("/movies/parent/vox", async (req, res) => {
  */
 app.get("/movies/parent/muvi", async (req, res) => {
   try {
-    // Find all movies where Parent field is "Muvi"
-    const muviMovies = await mongoose.connection.db.collection("movies").find({ Parent: "Muvi" }).toArray();
-
-    // Log the results
-    console.log(`Found ${muviMovies.length} movies with Parent = "Muvi"`);
-    console.log(JSON.stringify(muviMovies, null, 2));
+    // ?since=<seq>: only the movies that changed after that version
+    if (req.query.since !== undefined) {
+      return await sendCatalog(req, res, "movies", await findMovieChanges("Muvi", req.query.view, req.query.since));
+    }
 
-    // Return the movies
-    res.json({
-      count: muviMovies.length,
-      movies: muviMovies
-    });
+    // All movies where Parent is "Muvi" (?view=card for the grid fields only), from memory when cached
+    const view = req.query.view === "card" ? "card" : "full";
+    await sendCachedCatalog(req, res, "movies", `movies:Muvi:${view}`, () => loadChainList("Muvi", view));
   } catch (error) {
     console.error("Error fetching movies with Parent = Muvi:", error);
     res.status(500).json({ error: "Server Error", details: error.message });
@@ -447,36 +731,66 @@ app.get("/movies/parent/muvi", async (req, res) => {
 });
 
 /**
- * Get All Offers Endpoint
- * Returns all promotional offers stored in the database
+ * Get Movie Timings Endpoint
+ * Returns only the Timings tree of one movie, for the detail screen
+ * Short max-age so a prefetch and the screen that follows share one download
+ *
+ * @param {string} id - Movie _id (ObjectId hex or plain string)
  */
-app.get("/offers", async (req, res) => {
+app.get("/movies/:id/timings", async (req, res) => {
   try {
-    // Check if offers collection exists
-    const collections = await mongoose.connection.db.listCollections({ name: "offers" }).toArray();
-    if (collections.length === 0) {
-      return res.status(404).json({ error: "Offers collection not found in the database" });
-    }
+    const { id } = req.params;
+    const query = /^[0-9a-fA-F]{24}$/.test(id)
+      ? { $or: [{ _id: new mongoose.Types.ObjectId(id) }, { _id: id }] }
+      : { _id: id };
 
-    // Fetch all documents from the offers collection
-    const offers = await mongoose.connection.db.collection("offers").find({}).toArray();
+    const movie = await mongoose.connection.db.collection("movies")
+      .findOne(query, { projection: { Timings: 1 } });
 
-    // Log the results
-    console.log(`Found ${offers.length} documents in the offers collection`);
-    console.log(JSON.stringify(offers, null, 2));
+    if (!movie) {
+      return res.status(404).json({ error: `Movie with ID ${id} not found` });
+    }
 
-    // Return the offers
-    res.json({
-      count: offers.length,
-      offers: offers
-    });
+    res.set("Cache-Control", "private, max-age=60");
+    await sendCatalog(req, res, "timings", { id, Timings: movie.Timings || [] });
   } catch (error) {
+    console.error(`Error fetching timings for movie ${req.params.id}:`, error);
+    res.status(500).json({ error: "Server Error", details: error.message });
+  }
+});
+
+/**
+ * Get All Offers Endpoint
+ * Returns all promotional offers stored in the database
+ */
+app.get("/offers", async (req, res) => {
+  try {
+    await sendCachedCatalog(req, res, "offers", "offers", loadOffers);
+  } catch (error) {
+    if (error.status === 404) {
+      return res.status(404).json({ error: error.message });
+    }
     console.error("Error fetching offers:", error);
     res.status(500).json({ error: "Server Error", details: error.message });
   }
 
 });
 
+// Only an empty result is worth asking whether the collection exists at all
+async function loadOffers() {
+  const db = mongoose.connection.db;
+  const offers = await db.collection("offers").find({}).toArray();
+  if (offers.length === 0 && !(await offersCollectionExists())) {
+    throw Object.assign(new Error("Offers collection not found in the database"), { status: 404 });
+  }
+  return { count: offers.length, offers };
+}
+
+async function offersCollectionExists() {
+  const collections = await mongoose.connection.db.listCollections({ name: "offers" }).toArray();
+  return collections.length > 0;
+}
+
 /**
  * Get Offer by ID Endpoint
  * Returns a specific offer by its ID
@@ -485,12 +799,6 @@ app.get("/offers/:id", async (req, res) => {
   try {
     const { id } = req.params;
 
-    // Check if offers collection exists
-    const collections = await mongoose.connection.db.listCollections({ name: "offers" }).toArray();
-    if (collections.length === 0) {
-      return res.status(404).json({ error: "Offers collection not found in the database" });
-    }
-
     // Try to convert the ID to an ObjectId if it's in that format
     let objectId;
     try {
@@ -509,13 +817,13 @@ app.get("/offers/:id", async (req, res) => {
     const offer = await mongoose.connection.db.collection("offers").findOne(query);
 
     if (!offer) {
+      // Check if offers collection exists
+      if (!(await offersCollectionExists())) {
+        return res.status(404).json({ error: "Offers collection not found in the database" });
+      }
       return res.status(404).json({ error: `Offer with ID ${id} not found` });
     }
 
-    // Log the result
-    console.log(`Found offer with ID ${id}:`);
-    console.log(JSON.stringify(offer, null, 2));
-
     // Return the offer
     res.json(offer);
   } catch (error) {
@@ -766,6 +1074,11 @@ app.put('/movies/:id', async (req, res) => {
       return res.status(404).json({ message: 'Movie not found' });
     }
 
+    // Cached chain lists are stale now; publish the change to delta sync right away
+    // instead of at the next interval (which drops them again with the new seq)
+    invalidateCatalog("movies:");
+    stampMovieVersions().catch(err => console.error("Error stamping movie versions:", err));
+
     // Return the updated movie
     res.status(200).json(updatedMovie); // Send the updated movie as a response
   } catch (error) {
@@ -823,6 +1136,98 @@ app.post("/api/users/watch-history", async (req, res) => {
   }
 });
 
+/**
+ * Batch Watch History Endpoint
+ * Adds many watch events in one database write. The app journals showtime taps
+ * and detail opens on the device and flushes them here in batches, instead of
+ * one request per tap.
+ * Movies already in the history (or repeated within the batch) are skipped, so a
+ * batch resent after a lost response changes nothing. The check runs inside the
+ * update itself, so two copies of a batch racing each other still add each movie once.
+ *
+ * @param {string} userId - User ID
+ * @param {object[]} events - [{ id, type, at, movie: { _id, Title, Language, Parent, image_url } }]
+ * @returns {object} How many events were received and how many movies were added
+ */
+const MAX_WATCH_BATCH = 500;
+
+app.post("/api/users/watch-history/batch", async (req, res) => {
+  try {
+    const { userId, events } = req.body;
+
+    // Validate input
+    if (!userId || !Array.isArray(events)) {
+      return res.status(400).json({ message: "User ID and an events array are required" });
+    }
+    if (events.length > MAX_WATCH_BATCH) {
+      return res.status(413).json({ message: `At most ${MAX_WATCH_BATCH} events per batch` });
+    }
+    if (!mongoose.Types.ObjectId.isValid(userId)) {
+      return res.status(400).json({ message: "Invalid user ID" });
+    }
+
+    // Duplicates within the batch are dropped here; those already in the history
+    // are dropped by the update below
+    const seen = new Set();
+    const fresh = [];
+    for (const event of events) {
+      const movie = event && event.movie;
+      if (!movie || !movie._id || !(movie.Title || movie.title)) continue;
+      const id = String(movie._id);
+      if (seen.has(id)) continue;
+      seen.add(id);
+      const at = Number(event.at);
+      fresh.push({
+        _id: id,
+        Title: movie.Title || movie.title,
+        Language: movie.Language || "",
+        Parent: movie.Parent || "",
+        image_url: movie.image_url || "",
+        date: new Date(Number.isFinite(at) ? at : Date.now()).toISOString()
+      });
+    }
+
+    // One atomic write for the whole batch: append the movies the history does not
+    // have yet, then recompute total_movies from the history's length. The document
+    // as it was just before the write tells which movies were added.
+    const before = await User.findOneAndUpdate({ _id: userId }, [
+      {
+        $set: {
+          userViewHistory: {
+            $let: {
+              vars: { history: { $ifNull: ["$userViewHistory", []] } },
+              in: {
+                $concatArrays: ["$$history", {
+                  $filter: {
+                    input: { $literal: fresh },
+                    as: "movie",
+                    cond: { $not: [{ $in: ["$$movie._id", "$$history._id"] }] }
+                  }
+                }]
+              }
+            }
+          }
+        }
+      },
+      { $set: { total_movies: { $size: "$userViewHistory" } } }
+    ], { new: false, projection: { "userViewHistory._id": 1 } }).lean();
+    if (!before) {
+      return res.status(404).json({ message: "User not found" });
+    }
+    const had = new Set((before.userViewHistory || []).map(m => String(m._id)));
+    const added = fresh.filter(m => !had.has(m._id)).length;
+
+    res.status(200).json({
+      message: "Watch events recorded",
+      received: events.length,
+      added
+    });
+  } catch (error) {
+    console.error("Error recording watch events:", error);
+    res.status(500).json({ message: "Server error", error: error.message });
+  }
+});
+
 /**
  * Get User Watch History Endpoint
  * Retrieves a user's movie watch history
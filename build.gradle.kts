@@ -2,4 +2,6 @@
 plugins {
     id("com.android.application") version "8.8.0" apply false
     id("com.android.library")     version "8.8.0" apply false
+    id("com.android.test")        version "8.8.0" apply false
+    id("androidx.baselineprofile") version "1.3.3" apply false
 }
\ No newline at end of file
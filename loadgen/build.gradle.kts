@@ -0,0 +1,20 @@
+// Plain JVM tool, no Android: replays app launches against the backend
+//   ./gradlew :loadgen:run --args="--stub --rate 200 --duration 30"
+//   ./gradlew :loadgen:run --args="--base http://localhost:5000 --rate 50 --duration 60"
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+application {
+    mainClass.set("com.example.cpit490project.loadgen.LoadGen")
+}
+
+// Relative paths (--fixtures, --hgrm) resolve from the repository root
+tasks.named<JavaExec>("run") {
+    workingDir = rootDir
+}
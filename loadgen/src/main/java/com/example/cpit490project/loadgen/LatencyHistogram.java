@@ -0,0 +1,126 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/LatencyHistogram.java
+package com.example.cpit490project.loadgen;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Log-linear latency histogram in microseconds, laid out like HdrHistogram
+ * with two significant digits: values below 128 us are exact, above that
+ * every power of two is split into 64 buckets (under 1.6% error). Fixed
+ * size, so recording never allocates. Thread-safe.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int SUB      = 1 << SUB_BITS;  // exact values below this
+    private static final int HALF     = SUB / 2;        // buckets per power of two above it
+    private static final int MAX_EXP  = 40;             // ~12 days in us, far past any timeout
+
+    private final long[] counts = new long[SUB + MAX_EXP * HALF];
+    private long total, max;
+    private long min = Long.MAX_VALUE;
+    private double sum, sumSquares;
+
+    synchronized void record(long micros) {
+        long v = Math.max(0, micros);
+        counts[index(v)]++;
+        total++;
+        sum        += v;
+        sumSquares += (double) v * v;
+        if (v > max) max = v;
+        if (v < min) min = v;
+    }
+
+    synchronized void add(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+            total      += other.total;
+            sum        += other.sum;
+            sumSquares += other.sumSquares;
+            max = Math.max(max, other.max);
+            min = Math.min(min, other.min);
+        }
+    }
+
+    synchronized long count() {
+        return total;
+    }
+
+    synchronized double meanMillis() {
+        return total == 0 ? 0 : sum / total / 1000.0;
+    }
+
+    synchronized double maxMillis() {
+        return max / 1000.0;
+    }
+
+    /** Smallest recorded value that {@code percentile}% of the samples are at or below. */
+    synchronized double percentileMillis(double percentile) {
+        if (total == 0) return 0;
+        if (percentile >= 100) return max / 1000.0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestEquivalent(i), max) / 1000.0;
+        }
+        return max / 1000.0;
+    }
+
+    /**
+     * The percentile distribution in HdrHistogram's text (.hgrm) format, which its
+     * online plotter reads. Values in milliseconds.
+     */
+    synchronized void printDistribution(PrintStream out, int ticksPerHalf) {
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        if (total > 0) {
+            // Percentile steps halve the remaining distance each ticksPerHalf lines,
+            // so the tail gets as many lines as the body
+            int i = 0;
+            long seen = 0;
+            long emitted = -1;
+            for (int step = 0; ; step++) {
+                double p = 100.0 * (1 - Math.pow(0.5, (double) step / ticksPerHalf));
+                long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+                if (rank >= total) break;
+                while (seen + counts[i] < rank) seen += counts[i++];
+                long below = seen + counts[i];
+                if (below == emitted) continue;
+                emitted = below;
+                line(out, Math.min(highestEquivalent(i), max), (double) below / total, below);
+            }
+            line(out, max, 1.0, total);
+        }
+        double mean = total == 0 ? 0 : sum / total;
+        double std  = total == 0 ? 0 : Math.sqrt(Math.max(0, sumSquares / total - mean * mean));
+        out.printf(Locale.US, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean / 1000, std / 1000);
+        out.printf(Locale.US, "#[Max     = %12.3f, Total count    = %12d]%n", max / 1000.0, total);
+        out.printf(Locale.US, "#[Buckets = %12d, SubBuckets     = %12d]%n", MAX_EXP, SUB);
+    }
+
+    private static void line(PrintStream out, long micros, double fraction, long count) {
+        if (fraction < 1) {
+            out.printf(Locale.US, "%12.3f %14.12f %10d %14.2f%n",
+                    micros / 1000.0, fraction, count, 1 / (1 - fraction));
+        } else {
+            out.printf(Locale.US, "%12.3f %14.12f %10d%n", micros / 1000.0, fraction, count);
+        }
+    }
+
+    static int index(long v) {
+        if (v < SUB) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v) - (SUB_BITS - 1);  // v >>> exp is in [64, 128)
+        int i = SUB + (exp - 1) * HALF + (int) ((v >>> exp) - HALF);
+        return Math.min(i, SUB + MAX_EXP * HALF - 1);
+    }
+
+    // Largest value that lands in bucket i, like HdrHistogram's highestEquivalentValue
+    static long highestEquivalent(int i) {
+        if (i < SUB) return i;
+        int k   = i - SUB;
+        int exp = k / HALF + 1;
+        long sub = k % HALF + HALF;
+        return ((sub + 1) << exp) - 1;
+    }
+}
@@ -0,0 +1,170 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/LoadGen.java
+package com.example.cpit490project.loadgen;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays app launches ({@link Session}) against backend/server.js, or against
+ * the recorded fixtures with --stub, and prints per-endpoint throughput and
+ * latency percentiles plus the overall distribution in HdrHistogram's format.
+ *
+ * With --rate, sessions arrive as a Poisson process whether or not the server
+ * keeps up (an open model, like a release going out), and every latency is
+ * measured from when the request should have been sent, so a stalled server
+ * is not hidden by the generator waiting on it. --rate 0 runs --concurrency
+ * users back to back instead (a closed model, for finding the saturation point).
+ *
+ *   node backend/server.js            (MONGO_URI pointing at a local Mongo)
+ *   ./gradlew :loadgen:run --args="--rate 100 --duration 60"
+ */
+public final class LoadGen {
+    private static final Pattern ID = Pattern.compile("\"_id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private LoadGen() {}
+
+    public static void main(String[] args) throws Exception {
+        Options o;
+        try {
+            o = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        StubServer stub = o.stub ? StubServer.start(o.fixtures, Runtime.getRuntime().availableProcessors() * 2) : null;
+        String base = stub != null ? stub.url() : o.base;
+        try {
+            run(o, base);
+        } finally {
+            if (stub != null) stub.stop();
+        }
+    }
+
+    private static void run(Options o, String base) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(o.timeoutMs))
+                .build();
+        Map<String, List<String>> ids = discover(http, base);
+
+        System.out.printf(Locale.US, "%s: %s for %d s (%d s warm-up), think %d ms, %s%n", base,
+                o.rate > 0 ? String.format(Locale.US, "%.1f sessions/s, at most %d in flight", o.rate, o.concurrency)
+                           : o.concurrency + " users back to back",
+                o.durationS, o.warmupS, o.thinkMs, o.json ? "JSON" : "binary catalog");
+
+        long start = System.nanoTime();
+        long end   = start + TimeUnit.SECONDS.toNanos(o.durationS);
+        Stats stats = new Stats(start + TimeUnit.SECONDS.toNanos(o.warmupS));
+        Session.Client client = new Session.Client(http, base, o.json, o.timeoutMs, stats);
+        SplittableRandom rnd = new SplittableRandom(o.seed);
+        Semaphore slots = new Semaphore(o.concurrency);
+
+        if (o.rate > 0) {
+            openLoop(o, client, ids, rnd, slots, stats, start, end);
+        } else {
+            closedLoop(o, client, ids, rnd, slots, stats, end);
+        }
+
+        // let the sessions already going finish, within reason
+        long drainMs = o.timeoutMs + 3L * o.thinkMs;
+        if (!slots.tryAcquire(o.concurrency, drainMs, TimeUnit.MILLISECONDS)) {
+            System.out.printf("%d sessions still running after %d ms; left out%n",
+                    o.concurrency - slots.availablePermits(), drainMs);
+        }
+
+        System.out.println();
+        stats.print(System.out);
+        System.out.println();
+        stats.overall().printDistribution(System.out, 5);
+        if (o.hgrm != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(o.hgrm), false, "UTF-8")) {
+                stats.overall().printDistribution(out, 5);
+            }
+            System.out.println("Wrote " + o.hgrm);
+        }
+    }
+
+    // Poisson arrivals at o.rate; an arrival with every slot taken is dropped, not queued
+    private static void openLoop(Options o, Session.Client client, Map<String, List<String>> ids,
+                                 SplittableRandom rnd, Semaphore slots, Stats stats,
+                                 long start, long end) {
+        double meanGapNanos = 1e9 / o.rate;
+        for (long next = start; next < end; next += (long) (-Math.log(1 - rnd.nextDouble()) * meanGapNanos)) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            if (!slots.tryAcquire()) {
+                if (next >= stats.measureFrom) stats.dropped.incrementAndGet();
+                continue;
+            }
+            new Session(client, ids, rnd.split(), o.thinkMs).run(next).whenComplete((v, err) -> {
+                stats.sessions.incrementAndGet();
+                slots.release();
+            });
+        }
+    }
+
+    // o.concurrency users, each starting a new session as soon as the last one ends
+    private static void closedLoop(Options o, Session.Client client, Map<String, List<String>> ids,
+                                   SplittableRandom rnd, Semaphore slots, Stats stats, long end)
+            throws InterruptedException {
+        for (int u = 0; u < o.concurrency; u++) {
+            slots.acquire();
+            user(o, client, ids, rnd.split(), slots, stats, end);
+        }
+        long wait = end - System.nanoTime();
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    private static void user(Options o, Session.Client client, Map<String, List<String>> ids,
+                             SplittableRandom rnd, Semaphore slots, Stats stats, long end) {
+        new Session(client, ids, rnd, o.thinkMs).run(System.nanoTime()).whenComplete((v, err) -> {
+            stats.sessions.incrementAndGet();
+            if (System.nanoTime() < end) {
+                user(o, client, ids, rnd, slots, stats, end);
+            } else {
+                slots.release();
+            }
+        });
+    }
+
+    // Movie ids per chain for the detail step, from the card lists
+    private static Map<String, List<String>> discover(HttpClient http, String base)
+            throws IOException, InterruptedException {
+        Map<String, List<String>> ids = new HashMap<>();
+        for (String chain : Session.CHAINS) {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/movies/parent/" + chain + "?view=card"))
+                    .header("Accept", "application/json")
+                    .build();
+            HttpResponse<String> r = http.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            List<String> found = new ArrayList<>();
+            if (r.statusCode() == 200) {
+                Matcher m = ID.matcher(r.body());
+                while (m.find()) found.add(m.group(1));
+            }
+            if (found.isEmpty()) System.out.println("No movies for " + chain + " (HTTP " + r.statusCode() + "); no detail step");
+            ids.put(chain, found);
+        }
+        return ids;
+    }
+}
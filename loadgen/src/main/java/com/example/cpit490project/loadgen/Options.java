@@ -0,0 +1,66 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/Options.java
+package com.example.cpit490project.loadgen;
+
+/** Command line of {@link LoadGen}; every flag has a default. */
+final class Options {
+    static final String USAGE = String.join("\n",
+            "Usage: loadgen [options]",
+            "  --base URL          backend root (default http://localhost:5000)",
+            "  --stub              serve the recorded fixtures in-process instead of --base",
+            "  --fixtures DIR      fixtures for --stub (default app/src/androidTest/assets/fixtures)",
+            "  --rate N            new sessions per second, Poisson arrivals (default 20);",
+            "                      0 runs --concurrency users back to back instead",
+            "  --concurrency N     most sessions in flight; arrivals over it are dropped (default 500)",
+            "  --duration S        seconds of arrivals (default 30)",
+            "  --warmup S          first seconds left out of the numbers (default 5)",
+            "  --think MS          mean pause between screens, +-50% (default 1500)",
+            "  --timeout MS        per request (default 10000)",
+            "  --json              ask for JSON only (the app also accepts the binary encoding)",
+            "  --hgrm FILE         also write the overall distribution in .hgrm format",
+            "  --seed N            random seed (default 1)");
+
+    String base = "http://localhost:5000";
+    boolean stub;
+    String fixtures = "app/src/androidTest/assets/fixtures";
+    double rate = 20;
+    int concurrency = 500;
+    int durationS = 30;
+    int warmupS = 5;
+    int thinkMs = 1500;
+    int timeoutMs = 10_000;
+    boolean json;
+    String hgrm;
+    long seed = 1;
+
+    static Options parse(String[] args) {
+        Options o = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            switch (a) {
+                case "--stub":        o.stub = true; break;
+                case "--json":        o.json = true; break;
+                case "--base":        o.base = value(args, ++i, a); break;
+                case "--fixtures":    o.fixtures = value(args, ++i, a); break;
+                case "--rate":        o.rate = Double.parseDouble(value(args, ++i, a)); break;
+                case "--concurrency": o.concurrency = Integer.parseInt(value(args, ++i, a)); break;
+                case "--duration":    o.durationS = Integer.parseInt(value(args, ++i, a)); break;
+                case "--warmup":      o.warmupS = Integer.parseInt(value(args, ++i, a)); break;
+                case "--think":       o.thinkMs = Integer.parseInt(value(args, ++i, a)); break;
+                case "--timeout":     o.timeoutMs = Integer.parseInt(value(args, ++i, a)); break;
+                case "--hgrm":        o.hgrm = value(args, ++i, a); break;
+                case "--seed":        o.seed = Long.parseLong(value(args, ++i, a)); break;
+                default: throw new IllegalArgumentException("Unknown option " + a);
+            }
+        }
+        if (o.rate < 0 || o.concurrency < 1 || o.durationS < 1 || o.warmupS < 0 || o.thinkMs < 0) {
+            throw new IllegalArgumentException("Bad option value");
+        }
+        while (o.base.endsWith("/")) o.base = o.base.substring(0, o.base.length() - 1);
+        return o;
+    }
+
+    private static String value(String[] args, int i, String flag) {
+        if (i >= args.length) throw new IllegalArgumentException(flag + " needs a value");
+        return args[i];
+    }
+}
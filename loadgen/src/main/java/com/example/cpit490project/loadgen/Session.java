@@ -0,0 +1,130 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/Session.java
+package com.example.cpit490project.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One fresh install opening the app, the way the app's code sends it:
+ *
+ *   home    /offers and every chain's full list (next showings) at once;
+ *           once offers are on screen, every chain's ?view=card list (prefetch)
+ *   chain   a random chain after a pause; it joins its prefetch, so no request
+ *   detail  a random movie of it after another pause: /movies/{id}/timings
+ *
+ * Nothing is cached between sessions, so each one is a first launch.
+ */
+final class Session {
+    static final String[] CHAINS = {"vox", "amc", "muvi", "empire"};
+
+    /** The HTTP side shared by all sessions. */
+    static final class Client {
+        private final HttpClient http;
+        private final String base;
+        private final String accept;
+        private final Duration timeout;
+        private final Stats stats;
+
+        Client(HttpClient http, String base, boolean jsonOnly, int timeoutMs, Stats stats) {
+            this.http    = http;
+            this.base    = base;
+            // same header as the app's CatalogRequest
+            this.accept  = jsonOnly ? "application/json"
+                    : "application/vnd.aflam.catalog, application/json;q=0.5";
+            this.timeout = Duration.ofMillis(timeoutMs);
+            this.stats   = stats;
+        }
+
+        /** Completes with the body, or null on an error status or failure. */
+        CompletableFuture<byte[]> get(String endpoint, String path, long intendedNanos) {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(timeout)
+                    .header("Accept", accept)
+                    // the app's HttpURLConnection asks for gzip too; bytes are counted as sent
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build();
+            stats.sent.incrementAndGet();
+            return http.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((r, err) -> {
+                        boolean ok  = err == null && r.statusCode() < 400;
+                        byte[] body = r == null ? null : r.body();
+                        stats.record(endpoint, intendedNanos, ok, body == null ? 0 : body.length);
+                        return ok ? body : null;
+                    });
+        }
+    }
+
+    private final Client client;
+    private final Map<String, List<String>> movieIds;
+    private final SplittableRandom rnd;
+    private final int thinkMs;
+
+    Session(Client client, Map<String, List<String>> movieIds, SplittableRandom rnd, int thinkMs) {
+        this.client   = client;
+        this.movieIds = movieIds;
+        this.rnd      = rnd;
+        this.thinkMs  = thinkMs;
+    }
+
+    /** Runs the whole session; {@code arrivalNanos} is when the app was opened. */
+    CompletableFuture<Void> run(long arrivalNanos) {
+        List<CompletableFuture<?>> home = new ArrayList<>();
+        CompletableFuture<byte[]> offers = client.get("GET /offers", "/offers", arrivalNanos);
+        home.add(offers);
+        for (String chain : CHAINS) {
+            home.add(client.get("GET /movies/parent/:chain", "/movies/parent/" + chain, arrivalNanos));
+        }
+
+        String chain = CHAINS[rnd.nextInt(CHAINS.length)];
+        List<String> ids = movieIds.get(chain);
+        String movie = ids == null || ids.isEmpty() ? null : ids.get(rnd.nextInt(ids.size()));
+        long chainPause  = think();
+        long detailPause = think();
+
+        CompletableFuture<Void> browse = offers.thenCompose(body -> {
+            long shown = System.nanoTime();
+            CompletableFuture<byte[]> opened = null;
+            List<CompletableFuture<?>> prefetch = new ArrayList<>();
+            for (String c : CHAINS) {
+                CompletableFuture<byte[]> cards = client.get("GET /movies/parent/:chain?view=card",
+                        "/movies/parent/" + c + "?view=card", shown);
+                prefetch.add(cards);
+                if (c.equals(chain)) opened = cards;
+            }
+            // the chain screen renders once its prefetched list is in, then the user picks a film
+            CompletableFuture<Void> detail = CompletableFuture.allOf(opened, after(chainPause))
+                    .thenCompose(v -> after(detailPause))
+                    .thenCompose(intended -> movie == null
+                            ? CompletableFuture.completedFuture(null)
+                            : client.get("GET /movies/:id/timings", "/movies/" + movie + "/timings", intended))
+                    .thenApply(b -> null);
+            prefetch.add(detail);
+            return CompletableFuture.allOf(prefetch.toArray(new CompletableFuture<?>[0]));
+        });
+        home.add(browse);
+        return CompletableFuture.allOf(home.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // Mean thinkMs, spread +-50%
+    private long think() {
+        return thinkMs == 0 ? 0 : thinkMs / 2 + rnd.nextInt(thinkMs + 1);
+    }
+
+    /** Completes with the intended time once {@code ms} have passed. */
+    private static CompletableFuture<Long> after(long ms) {
+        long intended = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+        Executor later = CompletableFuture.delayedExecutor(ms, TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> intended, later);
+    }
+}
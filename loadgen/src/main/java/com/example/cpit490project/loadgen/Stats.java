@@ -0,0 +1,76 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/Stats.java
+package com.example.cpit490project.loadgen;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latency, errors and bytes. Samples before {@link #measureFrom}
+ * (the warm-up) are counted as sent but left out of the numbers.
+ */
+final class Stats {
+    static final class Endpoint {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong bytes  = new AtomicLong();
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    final AtomicLong sent      = new AtomicLong();
+    final AtomicLong sessions  = new AtomicLong();
+    final AtomicLong dropped   = new AtomicLong();
+    final AtomicLong lastDone  = new AtomicLong();
+    final long measureFrom;
+
+    Stats(long measureFromNanos) {
+        this.measureFrom = measureFromNanos;
+    }
+
+    /** {@code intendedNanos} is when the request should have gone out, so generator lag counts too. */
+    void record(String endpoint, long intendedNanos, boolean ok, long bytes) {
+        long now = System.nanoTime();
+        if (now < measureFrom) return;
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.latency.record((now - intendedNanos) / 1000);
+        if (!ok) e.errors.incrementAndGet();
+        e.bytes.addAndGet(bytes);
+        lastDone.accumulateAndGet(now, Math::max);
+    }
+
+    LatencyHistogram overall() {
+        LatencyHistogram all = new LatencyHistogram();
+        for (Endpoint e : endpoints.values()) all.add(e.latency);
+        return all;
+    }
+
+    void print(PrintStream out) {
+        double seconds = Math.max(1e-9, (lastDone.get() - measureFrom) / 1e9);
+        out.printf(Locale.US, "%-34s %8s %7s %9s %8s %8s %8s %8s %8s %8s%n",
+                "endpoint (ms)", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max", "KB/req");
+        long requests = 0, errors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint e = entry.getValue();
+            long n = e.latency.count();
+            requests += n;
+            errors   += e.errors.get();
+            row(out, entry.getKey(), e.latency, e.errors.get(), n / seconds,
+                    n == 0 ? 0 : e.bytes.get() / 1024.0 / n);
+        }
+        row(out, "all", overall(), errors, requests / seconds, -1);
+        out.printf(Locale.US, "%n%d sessions finished, %d arrivals dropped at the concurrency cap, "
+                + "%.1f s measured%n", sessions.get(), dropped.get(), seconds);
+    }
+
+    private static void row(PrintStream out, String name, LatencyHistogram h, long errors,
+                            double rate, double kbPerRequest) {
+        out.printf(Locale.US, "%-34s %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8s%n",
+                name, h.count(), errors, rate,
+                h.percentileMillis(50), h.percentileMillis(90), h.percentileMillis(99),
+                h.percentileMillis(99.9), h.maxMillis(),
+                kbPerRequest < 0 ? "" : String.format(Locale.US, "%.1f", kbPerRequest));
+    }
+}
@@ -0,0 +1,173 @@
+// loadgen/src/main/java/com/example/cpit490project/loadgen/StubServer.java
+package com.example.cpit490project.loadgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for backend/server.js serving the recorded fixtures
+ * (app/record-fixtures.sh): /offers, /movies/parent/{chain}[?view=card] and
+ * /movies/{id}/timings, as JSON or the binary encoding by Accept. No Mongo, so
+ * it measures the generator and the network path, not the backend.
+ */
+final class StubServer {
+    private static final String BINARY = "application/vnd.aflam.catalog";
+
+    private final HttpServer server;
+    private final ExecutorService pool;
+    // "offers", "vox", "vox-card", ... -> body; ".acb" suffix for the binary copy
+    private final Map<String, byte[]> bodies = new HashMap<>();
+    // movie id -> {"id", "Timings"} JSON, cut out of the full chain lists
+    private final Map<String, byte[]> timings = new HashMap<>();
+
+    private StubServer(Path fixtures, int threads) throws IOException {
+        load(fixtures, "offers");
+        for (String chain : Session.CHAINS) {
+            load(fixtures, chain);
+            load(fixtures, chain + "-card");
+            indexTimings(new String(bodies.get(chain), StandardCharsets.UTF_8));
+        }
+        // headers and body go out as separate writes; without this, Nagle plus
+        // delayed ACKs add ~40 ms to some keep-alive responses
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        pool   = Executors.newFixedThreadPool(threads);
+        server.setExecutor(pool);
+        server.createContext("/", this::handle);
+    }
+
+    static StubServer start(String fixtures, int threads) throws IOException {
+        StubServer s = new StubServer(Path.of(fixtures), threads);
+        s.server.start();
+        return s;
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+        pool.shutdownNow();
+    }
+
+    private void load(Path dir, String name) throws IOException {
+        bodies.put(name, Files.readAllBytes(dir.resolve(name + ".json")));
+        Path acb = dir.resolve(name + ".acb");
+        if (Files.exists(acb)) bodies.put(name + ".acb", Files.readAllBytes(acb));
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            String path   = ex.getRequestURI().getPath();
+            String query  = ex.getRequestURI().getQuery();
+            String accept = ex.getRequestHeaders().getFirst("Accept");
+            boolean binary = accept != null && accept.contains(BINARY);
+
+            String name = null;
+            if (path.equals("/offers")) {
+                name = "offers";
+            } else if (path.startsWith("/movies/parent/")) {
+                name = path.substring("/movies/parent/".length());
+                if ("view=card".equals(query)) name += "-card";
+            } else if (path.startsWith("/movies/") && path.endsWith("/timings")) {
+                String id = path.substring("/movies/".length(), path.length() - "/timings".length());
+                send(ex, timings.get(id), "application/json");
+                return;
+            }
+            if (name != null && binary && bodies.containsKey(name + ".acb")) {
+                send(ex, bodies.get(name + ".acb"), BINARY);
+            } else {
+                send(ex, name == null ? null : bodies.get(name), "application/json");
+            }
+        }
+    }
+
+    private static void send(HttpExchange ex, byte[] body, String type) throws IOException {
+        if (body == null) {
+            ex.sendResponseHeaders(404, -1);
+            return;
+        }
+        ex.getResponseHeaders().set("Content-Type", type);
+        ex.getResponseHeaders().set("Vary", "Accept");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    // A full list is {"seq", "count", "movies": [{"_id", ..., "Timings": [...]}, ...]}.
+    // Walks it just far enough to cut out each movie's Timings text.
+    private void indexTimings(String json) {
+        int movies = json.indexOf("\"movies\"");
+        if (movies < 0) return;
+        int i = json.indexOf('[', movies) + 1;
+        while (true) {
+            i = skipSpace(json, i);
+            if (i >= json.length() || json.charAt(i) != '{') return;
+            int end = skipValue(json, i);
+            String id = null, days = "[]";
+            int j = i + 1;
+            while (j < end - 1) {
+                j = skipSpace(json, j);
+                if (json.charAt(j) != '"') break;
+                int keyEnd = skipValue(json, j);
+                String key = json.substring(j + 1, keyEnd - 1);
+                j = skipSpace(json, json.indexOf(':', keyEnd) + 1);
+                int valueEnd = skipValue(json, j);
+                if (key.equals("_id"))     id   = json.substring(j + 1, valueEnd - 1);
+                if (key.equals("Timings")) days = json.substring(j, valueEnd);
+                j = skipSpace(json, valueEnd);
+                if (j < end && json.charAt(j) == ',') j++;
+            }
+            if (id != null) {
+                timings.put(id, ("{\"id\":\"" + id + "\",\"Timings\":" + days + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            i = skipSpace(json, end);
+            if (i < json.length() && json.charAt(i) == ',') i++;
+        }
+    }
+
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+
+    // Index just past the JSON value starting at i
+    private static int skipValue(String s, int i) {
+        char c = s.charAt(i);
+        if (c == '"') {
+            for (i++; s.charAt(i) != '"'; i++) {
+                if (s.charAt(i) == '\\') i++;
+            }
+            return i + 1;
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            for (; ; i++) {
+                char d = s.charAt(i);
+                if (d == '"') {
+                    i = skipValue(s, i) - 1;
+                } else if (d == '{' || d == '[') {
+                    depth++;
+                } else if ((d == '}' || d == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        while (i < s.length() && ",}] \t\r\n".indexOf(s.charAt(i)) < 0) i++;
+        return i;
+    }
+}
@@ -0,0 +1,44 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.cpit490project.macrobenchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        // Baseline Profile collection needs API 28+ (rooted) or API 33+
+        minSdk = 28
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    // Benchmarks drive the app as a separate process, like a user would
+    targetProjectPath = ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+baselineProfile {
+    // Collect on whatever device/emulator is connected
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
+
+// Only the benchmark variants make sense here
+androidComponents {
+    beforeVariants(selector().all()) {
+        it.enable = it.buildType == "benchmarkRelease" || it.buildType == "nonMinifiedRelease"
+    }
+}
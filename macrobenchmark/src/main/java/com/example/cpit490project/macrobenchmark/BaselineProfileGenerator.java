@@ -0,0 +1,43 @@
+// macrobenchmark/src/main/java/com/example/cpit490project/macrobenchmark/BaselineProfileGenerator.java
+package com.example.cpit490project.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Records the classes and methods used on the paths the benchmarks measure.
+ * ./gradlew :app:generateBaselineProfile writes the result to
+ * app/src/release/generated/baselineProfiles/, which release builds then ship.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+    @Rule
+    public BaselineProfileRule rule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        rule.collect(
+                Journeys.PACKAGE,
+                15,     // maxIterations
+                3,      // stableIterations
+                null,   // outputFilePrefix
+                true,   // includeInStartupProfile
+                false,  // strictStability
+                method -> true,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.openMovieList(scope);
+                    Journeys.flingMovieGrid(scope);
+                    Journeys.openMovieDetail(scope);
+                    Journeys.flingShowtimes(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
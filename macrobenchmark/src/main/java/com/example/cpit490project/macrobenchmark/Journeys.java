@@ -0,0 +1,65 @@
+// macrobenchmark/src/main/java/com/example/cpit490project/macrobenchmark/Journeys.java
+package com.example.cpit490project.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * The user paths shared by the benchmarks and the Baseline Profile generator.
+ * They need the backend reachable from the device (API_BASE, 10.0.2.2 on the emulator)
+ * so the lists actually have rows to scroll.
+ */
+final class Journeys {
+    static final String PACKAGE = "com.example.cpit490project";
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Journeys() {}
+
+    /** Home -> VOX grid, waiting for the first cards. */
+    static void openMovieList(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.wait(Until.hasObject(By.res(PACKAGE, "btnVox")), TIMEOUT_MS);
+        device.findObject(By.res(PACKAGE, "btnVox")).click();
+        waitForRows(device, "rvMovies");
+    }
+
+    /** Grid -> first movie's detail screen, waiting for its showtimes. */
+    static void openMovieDetail(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 grid = waitForRows(device, "rvMovies");
+        grid.getChildren().get(0).click();
+        waitForRows(device, "rvShowtimes");
+    }
+
+    /** Flings the grid down and back up. */
+    static void flingMovieGrid(MacrobenchmarkScope scope) {
+        fling(scope.getDevice(), "rvMovies");
+    }
+
+    /** Flings the showtimes list down and back up. */
+    static void flingShowtimes(MacrobenchmarkScope scope) {
+        fling(scope.getDevice(), "rvShowtimes");
+    }
+
+    private static void fling(UiDevice device, String list) {
+        UiObject2 rv = waitForRows(device, list);
+        // keep the gesture clear of the system navigation areas
+        rv.setGestureMargin(device.getDisplayWidth() / 5);
+        rv.fling(Direction.DOWN);
+        device.waitForIdle();
+        rv.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    private static UiObject2 waitForRows(UiDevice device, String list) {
+        device.wait(Until.hasObject(By.res(PACKAGE, list).hasChild(By.depth(1))), TIMEOUT_MS);
+        UiObject2 rv = device.findObject(By.res(PACKAGE, list));
+        if (rv == null) throw new IllegalStateException(list + " never showed up");
+        return rv;
+    }
+}
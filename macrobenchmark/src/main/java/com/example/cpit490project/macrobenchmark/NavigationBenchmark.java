@@ -0,0 +1,66 @@
+// macrobenchmark/src/main/java/com/example/cpit490project/macrobenchmark/NavigationBenchmark.java
+package com.example.cpit490project.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/** Frame timings while opening the movie grid and then a movie's detail screen. */
+@RunWith(AndroidJUnit4.class)
+public class NavigationBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void openMovieList() {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    Journeys.openMovieList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void openMovieDetail() {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    // only the grid -> detail step is measured
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.openMovieList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.openMovieDetail(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
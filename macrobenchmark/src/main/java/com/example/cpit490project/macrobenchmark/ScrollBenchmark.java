@@ -0,0 +1,67 @@
+// macrobenchmark/src/main/java/com/example/cpit490project/macrobenchmark/ScrollBenchmark.java
+package com.example.cpit490project.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/** Frame timings of flinging the movie grid and the showtimes list. */
+@RunWith(AndroidJUnit4.class)
+public class ScrollBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void flingMovieGrid() {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.openMovieList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.flingMovieGrid(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void flingShowtimes() {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.openMovieList(scope);
+                    Journeys.openMovieDetail(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.flingShowtimes(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,69 @@
+// macrobenchmark/src/main/java/com/example/cpit490project/macrobenchmark/StartupBenchmark.java
+package com.example.cpit490project.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Time to first frame of MainActivity. Each start mode runs without any AOT
+ * compilation and with the Baseline Profile, so the gain of the profile is
+ * visible side by side.
+ *
+ * Run on a real device: ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartNoCompilation() {
+        startup(StartupMode.COLD, new CompilationMode.None());
+    }
+
+    @Test
+    public void coldStartBaselineProfile() {
+        startup(StartupMode.COLD, new CompilationMode.Partial(BaselineProfileMode.Require, 0));
+    }
+
+    @Test
+    public void warmStartNoCompilation() {
+        startup(StartupMode.WARM, new CompilationMode.None());
+    }
+
+    @Test
+    public void warmStartBaselineProfile() {
+        startup(StartupMode.WARM, new CompilationMode.Partial(BaselineProfileMode.Require, 0));
+    }
+
+    private void startup(StartupMode mode, CompilationMode compilation) {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilation,
+                mode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+}
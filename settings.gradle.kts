@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "CPIT490Project"
 include(":app")
+include(":macrobenchmark")
+include(":loadgen")
  
\ No newline at end of file